@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2019-2020 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import org.geysermc.common.PlatformType;
+import org.geysermc.common.bootstrap.IGeyserBootstrap;
+import org.geysermc.common.logger.IGeyserLogger;
+import org.geysermc.connector.GeyserConnector;
+import org.geysermc.platform.standalone.GeyserConfiguration;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Starts a single connector per benchmark JVM so the translators, mappings
+ * and caches are set up exactly like they are on a real server.
+ */
+public class BenchmarkBootstrap implements IGeyserBootstrap {
+
+    private static BenchmarkBootstrap instance;
+
+    private GeyserConfiguration geyserConfig;
+    private BenchmarkLogger geyserLogger;
+
+    private GeyserConnector connector;
+
+    /**
+     * Starts the connector if it is not running yet
+     *
+     * @return the running connector
+     */
+    public static synchronized GeyserConnector start() {
+        if (instance == null) {
+            instance = new BenchmarkBootstrap();
+            instance.onEnable();
+        }
+        return instance.connector;
+    }
+
+    @Override
+    public void onEnable() {
+        geyserLogger = new BenchmarkLogger();
+
+        try (InputStream stream = BenchmarkBootstrap.class.getResourceAsStream("/benchmark-config.yml")) {
+            geyserConfig = new ObjectMapper(new YAMLFactory()).readValue(stream, GeyserConfiguration.class);
+        } catch (IOException ex) {
+            throw new IllegalStateException("Failed to read the benchmark configuration", ex);
+        }
+
+        connector = GeyserConnector.start(PlatformType.STANDALONE, this);
+    }
+
+    @Override
+    public void onDisable() {
+        connector.shutdown();
+    }
+
+    @Override
+    public GeyserConfiguration getGeyserConfig() {
+        return geyserConfig;
+    }
+
+    @Override
+    public IGeyserLogger getGeyserLogger() {
+        return geyserLogger;
+    }
+}
@@ -0,0 +1,235 @@
+/*
+ * Copyright (c) 2019-2020 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.benchmarks;
+
+import com.github.steveice10.mc.protocol.data.game.chunk.Chunk;
+import com.github.steveice10.mc.protocol.data.game.chunk.Column;
+import com.github.steveice10.mc.protocol.data.game.entity.metadata.EntityMetadata;
+import com.github.steveice10.mc.protocol.data.game.entity.metadata.ItemStack;
+import com.github.steveice10.mc.protocol.data.game.entity.metadata.MetadataType;
+import com.github.steveice10.mc.protocol.data.game.world.block.BlockState;
+import com.github.steveice10.mc.protocol.data.message.Message;
+import com.github.steveice10.opennbt.tag.builtin.CompoundTag;
+import com.github.steveice10.opennbt.tag.builtin.IntTag;
+import com.github.steveice10.opennbt.tag.builtin.ListTag;
+import com.github.steveice10.opennbt.tag.builtin.ShortTag;
+import com.github.steveice10.opennbt.tag.builtin.StringTag;
+import com.github.steveice10.opennbt.tag.builtin.Tag;
+import org.geysermc.connector.network.translators.item.ItemEntry;
+import org.geysermc.connector.utils.Toolbox;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Builds the Java packet contents fed to the benchmarks. Everything is generated
+ * from a fixed seed so runs can be compared with each other.
+ */
+public class BenchmarkPackets {
+
+    private static final long SEED = 0x6765797365724CL;
+
+    // Java 1.15.2 block state ids
+    private static final BlockState AIR = new BlockState(0);
+    private static final BlockState STONE = new BlockState(1);
+    private static final BlockState GRANITE = new BlockState(2);
+    private static final BlockState DIORITE = new BlockState(4);
+    private static final BlockState ANDESITE = new BlockState(6);
+    private static final BlockState GRASS_BLOCK = new BlockState(9);
+    private static final BlockState DIRT = new BlockState(10);
+    private static final BlockState BEDROCK = new BlockState(33);
+    private static final BlockState WATER = new BlockState(34);
+    private static final BlockState GRAVEL = new BlockState(68);
+    private static final BlockState GOLD_ORE = new BlockState(69);
+    private static final BlockState IRON_ORE = new BlockState(70);
+    private static final BlockState COAL_ORE = new BlockState(71);
+
+    private static final int SEA_LEVEL = 62;
+
+    /**
+     * Creates a full overworld column: bedrock, stone with ores and caves,
+     * dirt and grass at a varying height, and water below sea level.
+     */
+    public static Column createColumn(int x, int z) {
+        Random random = new Random(SEED ^ (((long) x << 32) | (z & 0xFFFFFFFFL)));
+
+        int[] heights = new int[256];
+        for (int i = 0; i < heights.length; i++) {
+            heights[i] = 56 + random.nextInt(16);
+        }
+
+        Chunk[] chunks = new Chunk[16];
+        for (int chunkY = 0; chunkY < chunks.length; chunkY++) {
+            if (chunkY * 16 > SEA_LEVEL + 16) {
+                continue;
+            }
+
+            Chunk chunk = new Chunk();
+            for (int blockX = 0; blockX < 16; blockX++) {
+                for (int blockZ = 0; blockZ < 16; blockZ++) {
+                    int height = heights[blockZ << 4 | blockX];
+                    for (int blockY = 0; blockY < 16; blockY++) {
+                        int y = chunkY * 16 + blockY;
+                        chunk.set(blockX, blockY, blockZ, terrain(random, y, height));
+                    }
+                }
+            }
+            chunks[chunkY] = chunk;
+        }
+
+        int[] biomeData = new int[1024];
+        Arrays.fill(biomeData, 1); // Plains
+
+        return new Column(x, z, chunks, new CompoundTag[0], new CompoundTag("HeightMaps"), biomeData);
+    }
+
+    private static BlockState terrain(Random random, int y, int height) {
+        if (y == 0) {
+            return BEDROCK;
+        }
+        if (y > height) {
+            return y <= SEA_LEVEL ? WATER : AIR;
+        }
+        if (y == height) {
+            return height < SEA_LEVEL ? GRAVEL : GRASS_BLOCK;
+        }
+        if (y > height - 4) {
+            return DIRT;
+        }
+
+        int roll = random.nextInt(100);
+        if (roll < 6) {
+            return AIR; // Caves
+        } else if (roll < 8) {
+            return COAL_ORE;
+        } else if (roll < 9) {
+            return y < 32 ? GOLD_ORE : IRON_ORE;
+        } else if (roll < 12) {
+            return GRANITE;
+        } else if (roll < 15) {
+            return DIORITE;
+        } else if (roll < 18) {
+            return ANDESITE;
+        }
+        return STONE;
+    }
+
+    /**
+     * @return a player chat message as the vanilla server sends it
+     */
+    public static Message createChatMessage() {
+        return Message.fromString("{\"translate\":\"chat.type.text\",\"with\":[{\"text\":\"Steve\","
+                + "\"clickEvent\":{\"action\":\"suggest_command\",\"value\":\"/tell Steve \"},"
+                + "\"hoverEvent\":{\"action\":\"show_text\",\"value\":{\"text\":\"Steve\\nType: Player\"}},"
+                + "\"insertion\":\"Steve\"},\"Has anyone seen my diamonds? They were right here a minute ago\"]}");
+    }
+
+    /**
+     * @return a colored plugin message with several components, as sent by most servers
+     */
+    public static Message createSystemMessage() {
+        return Message.fromString("{\"extra\":[{\"bold\":true,\"color\":\"gold\",\"text\":\"[Server] \"},"
+                + "{\"color\":\"gray\",\"text\":\"Welcome back, \"},{\"color\":\"aqua\",\"text\":\"Steve\"},"
+                + "{\"color\":\"gray\",\"text\":\"! There are \"},{\"color\":\"green\",\"text\":\"42\"},"
+                + "{\"color\":\"gray\",\"text\":\" players online.\"}],\"text\":\"\"}");
+    }
+
+    /**
+     * Creates the 46 slots of a player inventory: armor, tools with enchantments
+     * and custom names, and stacks of blocks and food.
+     *
+     * @param variant changes the stack sizes, so consecutive packets differ like they do in game
+     */
+    public static ItemStack[] createPlayerInventory(int variant) {
+        ItemStack[] items = new ItemStack[46];
+        items[5] = enchanted("minecraft:diamond_helmet", "minecraft:protection");
+        items[6] = enchanted("minecraft:diamond_chestplate", "minecraft:protection");
+        items[7] = enchanted("minecraft:diamond_leggings", "minecraft:protection");
+        items[8] = enchanted("minecraft:diamond_boots", "minecraft:feather_falling");
+
+        String[] blocks = {"minecraft:stone", "minecraft:cobblestone", "minecraft:oak_planks", "minecraft:dirt", "minecraft:torch", "minecraft:cooked_beef"};
+        for (int slot = 9; slot < 36; slot++) {
+            if (slot % 4 == 0) {
+                continue;
+            }
+            items[slot] = new ItemStack(javaId(blocks[slot % blocks.length]), 1 + (slot * 7 + variant) % 64);
+        }
+
+        items[36] = enchanted("minecraft:diamond_sword", "minecraft:sharpness");
+        items[37] = enchanted("minecraft:diamond_pickaxe", "minecraft:efficiency");
+        items[38] = enchanted("minecraft:bow", "minecraft:power");
+        items[39] = new ItemStack(javaId("minecraft:arrow"), 1 + variant % 64);
+        items[40] = new ItemStack(javaId("minecraft:cooked_beef"), 1 + (variant + 20) % 64);
+        items[41] = new ItemStack(javaId("minecraft:torch"), 1 + (variant + 40) % 64);
+        items[45] = new ItemStack(javaId("minecraft:shield"), 1);
+        return items;
+    }
+
+    private static ItemStack enchanted(String identifier, String enchantment) {
+        CompoundTag tag = new CompoundTag("");
+
+        CompoundTag display = new CompoundTag("display");
+        display.put(new StringTag("Name", "{\"text\":\"Trusty " + identifier.substring(10) + "\",\"color\":\"aqua\",\"italic\":false}"));
+        tag.put(display);
+
+        List<Tag> enchantments = new ArrayList<>();
+        CompoundTag enchantmentTag = new CompoundTag("");
+        enchantmentTag.put(new StringTag("id", enchantment));
+        enchantmentTag.put(new ShortTag("lvl", (short) 4));
+        enchantments.add(enchantmentTag);
+        tag.put(new ListTag("Enchantments", enchantments));
+
+        tag.put(new IntTag("Damage", 12));
+        return new ItemStack(javaId(identifier), 1, tag);
+    }
+
+    private static int javaId(String identifier) {
+        for (ItemEntry itemEntry : Toolbox.ITEM_ENTRIES.values()) {
+            if (itemEntry.getJavaIdentifier().equals(identifier)) {
+                return itemEntry.getJavaId();
+            }
+        }
+        throw new IllegalArgumentException("Unknown item " + identifier);
+    }
+
+    /**
+     * Creates the metadata a moving, named mob receives every few ticks
+     *
+     * @param variant changes the flags, so consecutive packets differ
+     */
+    public static EntityMetadata[] createMobMetadata(int variant) {
+        return new EntityMetadata[] {
+                new EntityMetadata(0, MetadataType.BYTE, (byte) ((variant & 1) == 0 ? 0x00 : 0x01)),
+                new EntityMetadata(1, MetadataType.INT, 300),
+                new EntityMetadata(2, MetadataType.OPTIONAL_CHAT, Message.fromString("Grumm")),
+                new EntityMetadata(3, MetadataType.BOOLEAN, true),
+                new EntityMetadata(4, MetadataType.BOOLEAN, false),
+                new EntityMetadata(5, MetadataType.BOOLEAN, false)
+        };
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2019-2020 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.geysermc.connector.GeyserConnector;
+import org.geysermc.connector.network.session.GeyserSession;
+import org.geysermc.connector.network.session.auth.AuthData;
+import org.geysermc.connector.network.session.auth.BedrockClientData;
+
+import java.io.IOException;
+import java.util.UUID;
+
+/**
+ * A session without a Bedrock client or a Java server behind it. Packets are
+ * handed straight to the translators and everything sent to the client ends
+ * up in a {@link BenchmarkUpstreamSession}.
+ */
+public class BenchmarkSession extends GeyserSession {
+
+    private static final String CLIENT_DATA = "{\"LanguageCode\":\"en_US\",\"GameVersion\":\"1.14.60\"}";
+
+    private final BenchmarkUpstreamSession benchmarkUpstream;
+
+    public BenchmarkSession(GeyserConnector connector) {
+        this(connector, new BenchmarkUpstreamSession(connector));
+    }
+
+    private BenchmarkSession(GeyserConnector connector, BenchmarkUpstreamSession upstream) {
+        super(connector, upstream);
+        this.benchmarkUpstream = upstream;
+
+        setAuthData(new AuthData("Benchmark", UUID.randomUUID(), "0"));
+        try {
+            setClientData(new ObjectMapper().readValue(CLIENT_DATA, BedrockClientData.class));
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to create the benchmark client data", e);
+        }
+    }
+
+    public BenchmarkUpstreamSession getBenchmarkUpstream() {
+        return benchmarkUpstream;
+    }
+}
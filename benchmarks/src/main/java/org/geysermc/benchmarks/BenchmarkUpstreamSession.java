@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2019-2020 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.benchmarks;
+
+import com.nukkitx.protocol.bedrock.BedrockPacket;
+import com.nukkitx.protocol.bedrock.BedrockPacketCodec;
+import io.netty.buffer.ByteBuf;
+import lombok.Getter;
+import org.geysermc.connector.GeyserConnector;
+import org.geysermc.connector.network.session.UpstreamSession;
+
+import java.net.InetSocketAddress;
+
+/**
+ * Upstream session without a client behind it. Packets are batched, serialized and
+ * compressed like for a real client; only the final network write is skipped.
+ */
+public class BenchmarkUpstreamSession extends UpstreamSession {
+
+    private static final InetSocketAddress ADDRESS = new InetSocketAddress("127.0.0.1", 19132);
+
+    /**
+     * The amount of compressed bytes that would have been written to the client
+     */
+    @Getter
+    private long bytesWritten = 0;
+
+    public BenchmarkUpstreamSession(GeyserConnector connector) {
+        super(null, connector.getConfig().getMaxUpstreamBatchSize(), connector.getBatchCompressor(), connector.getGeneralThreadPool());
+    }
+
+    /**
+     * The packet would skip the batch compressor on a real session, so it is sent
+     * through the batch path instead to still be encoded and compressed.
+     */
+    @Override
+    public void sendPacketImmediately(BedrockPacket packet) {
+        sendPacket(packet);
+    }
+
+    @Override
+    protected void sendWrapped(ByteBuf compressed) {
+        // Batches are written while holding the lock of the session
+        bytesWritten += compressed.readableBytes();
+    }
+
+    @Override
+    protected BedrockPacketCodec getPacketCodec() {
+        return GeyserConnector.BEDROCK_PACKET_CODEC;
+    }
+
+    /**
+     * @return the amount of packets that were encoded and compressed
+     */
+    public synchronized long getPacketsSent() {
+        return getBatchedPacketsSent();
+    }
+
+    @Override
+    public void disconnect(String reason) {
+    }
+
+    @Override
+    public boolean isClosed() {
+        return false;
+    }
+
+    @Override
+    public InetSocketAddress getAddress() {
+        return ADDRESS;
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2019-2020 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.benchmarks;
+
+import com.github.steveice10.mc.protocol.data.game.MessageType;
+import com.github.steveice10.mc.protocol.data.message.Message;
+import com.github.steveice10.mc.protocol.packet.ingame.server.ServerChatPacket;
+import org.geysermc.connector.network.translators.Registry;
+import org.geysermc.connector.utils.MessageUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Converts chat components to Bedrock text, both directly and through the
+ * registered chat translator.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ChatBenchmark {
+
+    private BenchmarkSession session;
+
+    private Message systemMessage;
+    private ServerChatPacket chatPacket;
+    private ServerChatPacket systemPacket;
+
+    @Setup
+    public void setup() {
+        session = new BenchmarkSession(BenchmarkBootstrap.start());
+
+        systemMessage = BenchmarkPackets.createSystemMessage();
+        chatPacket = new ServerChatPacket(BenchmarkPackets.createChatMessage(), MessageType.CHAT);
+        systemPacket = new ServerChatPacket(systemMessage, MessageType.SYSTEM);
+    }
+
+    @Benchmark
+    public String bedrockMessage() {
+        return MessageUtils.getTranslatedBedrockMessage(systemMessage, "en_us");
+    }
+
+    @Benchmark
+    public boolean translateChat() {
+        return Registry.JAVA.translate(chatPacket.getClass(), chatPacket, session);
+    }
+
+    @Benchmark
+    public boolean translateSystem() {
+        return Registry.JAVA.translate(systemPacket.getClass(), systemPacket, session);
+    }
+}
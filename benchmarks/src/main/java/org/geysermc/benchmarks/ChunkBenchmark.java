@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2019-2020 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.benchmarks;
+
+import com.github.steveice10.mc.protocol.data.game.chunk.Column;
+import org.geysermc.connector.utils.ChunkUtils;
+import org.geysermc.connector.world.chunk.ChunkEncoder;
+import org.geysermc.connector.world.chunk.ChunkSection;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Translates full overworld columns to Bedrock chunk sections and encodes
+ * them the same way {@code JavaChunkDataTranslator} does.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ChunkBenchmark {
+
+    private Column[] columns;
+    private int index;
+
+    @Setup
+    public void setup() {
+        BenchmarkBootstrap.start();
+
+        // A few different columns so the branch predictor can't learn a single one
+        columns = new Column[16];
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = BenchmarkPackets.createColumn(i & 3, i >> 2);
+        }
+    }
+
+    private Column nextColumn() {
+        index = (index + 1) & (columns.length - 1);
+        return columns[index];
+    }
+
+    @Benchmark
+    public ChunkUtils.ChunkData translate() {
+        return ChunkUtils.translateToBedrock(nextColumn());
+    }
+
+    @Benchmark
+    public byte[] translateAndEncode() {
+        Column column = nextColumn();
+        ChunkSection[] sections = ChunkUtils.translateToBedrock(column).sections;
+
+        int sectionCount = sections.length - 1;
+        while (sectionCount >= 0 && sections[sectionCount].isEmpty()) {
+            sectionCount--;
+        }
+        sectionCount++;
+
+        return ChunkEncoder.encode(sections, sectionCount, column.getBiomeData());
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2019-2020 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.benchmarks;
+
+import com.github.steveice10.mc.protocol.packet.ingame.server.entity.ServerEntityMetadataPacket;
+import com.nukkitx.math.vector.Vector3f;
+import org.geysermc.connector.entity.living.monster.ZombieEntity;
+import org.geysermc.connector.entity.type.EntityType;
+import org.geysermc.connector.network.translators.Registry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Translates entity metadata for a spawned mob, the most frequent entity
+ * packet on busy servers.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class EntityMetadataBenchmark {
+
+    private static final int ENTITY_ID = 100;
+
+    private BenchmarkSession session;
+
+    private ServerEntityMetadataPacket[] packets;
+    private int index;
+
+    @Setup
+    public void setup() {
+        session = new BenchmarkSession(BenchmarkBootstrap.start());
+
+        ZombieEntity entity = new ZombieEntity(ENTITY_ID, session.getEntityCache().getNextEntityId().incrementAndGet(),
+                EntityType.ZOMBIE, Vector3f.from(8, 64, 8), Vector3f.ZERO, Vector3f.ZERO);
+        session.getEntityCache().spawnEntity(entity);
+
+        packets = new ServerEntityMetadataPacket[] {
+                new ServerEntityMetadataPacket(ENTITY_ID, BenchmarkPackets.createMobMetadata(0)),
+                new ServerEntityMetadataPacket(ENTITY_ID, BenchmarkPackets.createMobMetadata(1))
+        };
+    }
+
+    @Benchmark
+    public boolean translateMetadata() {
+        index ^= 1;
+        return Registry.JAVA.translate(ServerEntityMetadataPacket.class, packets[index], session);
+    }
+}
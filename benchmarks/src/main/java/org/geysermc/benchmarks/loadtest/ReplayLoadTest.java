@@ -0,0 +1,252 @@
+/*
+ * Copyright (c) 2019-2020 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.benchmarks.loadtest;
+
+import com.github.steveice10.packetlib.packet.Packet;
+import org.geysermc.benchmarks.BenchmarkBootstrap;
+import org.geysermc.benchmarks.BenchmarkSession;
+import org.geysermc.connector.GeyserConnector;
+import org.geysermc.connector.metrics.LatencyHistogram;
+import org.geysermc.connector.network.session.capture.CapturedPacket;
+import org.geysermc.connector.network.session.capture.PacketCaptureReader;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.OperatingSystemMXBean;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Replays a packet capture into many sessions at once to find out how many
+ * players a single instance can handle. The capture stands in for the Java
+ * server and the sessions have no Bedrock client, so nothing touches the network.
+ *
+ * Usage: {@code ReplayLoadTest <capture> <sessions> [threads] [--realtime]}
+ *
+ * By default the packets are replayed as fast as possible on one thread per
+ * core. With {@code --realtime} every session gets its own thread and the
+ * packets keep the timing they were captured with.
+ */
+public class ReplayLoadTest {
+
+    private final List<CapturedPacket> packets;
+    private final int sessionCount;
+    private final int threads;
+    private final boolean realtime;
+
+    private final Map<Class<? extends Packet>, LatencyHistogram> latencies = new ConcurrentHashMap<>();
+    private final AtomicLong translationCpuTime = new AtomicLong();
+    private final AtomicLong failedPackets = new AtomicLong();
+
+    private final ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+
+    public ReplayLoadTest(List<CapturedPacket> packets, int sessionCount, int threads, boolean realtime) {
+        this.packets = packets;
+        this.sessionCount = sessionCount;
+        this.threads = realtime ? sessionCount : threads;
+        this.realtime = realtime;
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.out.println("Usage: ReplayLoadTest <capture> <sessions> [threads] [--realtime]");
+            return;
+        }
+
+        File captureFile = new File(args[0]);
+        int sessionCount = Integer.parseInt(args[1]);
+        int threads = Runtime.getRuntime().availableProcessors();
+        boolean realtime = false;
+        for (int i = 2; i < args.length; i++) {
+            if (args[i].equals("--realtime")) {
+                realtime = true;
+            } else {
+                threads = Integer.parseInt(args[i]);
+            }
+        }
+
+        GeyserConnector connector = BenchmarkBootstrap.start();
+
+        List<CapturedPacket> packets;
+        try (PacketCaptureReader reader = new PacketCaptureReader(captureFile)) {
+            packets = reader.readAll();
+        }
+        System.out.println("Loaded " + packets.size() + " packets from " + captureFile.getName());
+
+        new ReplayLoadTest(packets, sessionCount, threads, realtime).run(connector);
+        System.exit(0);
+    }
+
+    public void run(GeyserConnector connector) throws Exception {
+        MemoryMXBean memoryBean = ManagementFactory.getMemoryMXBean();
+        long heapBefore = usedHeapAfterGc(memoryBean);
+
+        List<BenchmarkSession> sessions = new ArrayList<>(sessionCount);
+        for (int i = 0; i < sessionCount; i++) {
+            sessions.add(new BenchmarkSession(connector));
+        }
+
+        long processCpuBefore = getProcessCpuTime();
+        long start = System.nanoTime();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>(sessionCount);
+        for (BenchmarkSession session : sessions) {
+            futures.add(executor.submit(() -> replay(session)));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        // Chunks and skins are handled on their own thread pools after their packet was handled
+        awaitIdle(connector);
+
+        long wallTime = System.nanoTime() - start;
+        long processCpuTime = processCpuBefore < 0 ? -1 : getProcessCpuTime() - processCpuBefore;
+        long heapAfter = usedHeapAfterGc(memoryBean);
+
+        long bedrockPackets = 0;
+        for (BenchmarkSession session : sessions) {
+            bedrockPackets += session.getBenchmarkUpstream().getPacketsSent();
+        }
+
+        report(wallTime, processCpuTime, heapAfter - heapBefore, bedrockPackets);
+    }
+
+    private void replay(BenchmarkSession session) {
+        long start = System.currentTimeMillis();
+        for (CapturedPacket captured : packets) {
+            Packet packet;
+            try {
+                packet = captured.decode();
+            } catch (IOException e) {
+                failedPackets.incrementAndGet();
+                continue;
+            }
+
+            if (realtime) {
+                long delay = start + captured.getTime() - System.currentTimeMillis();
+                if (delay > 0) {
+                    try {
+                        Thread.sleep(delay);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+            }
+
+            long cpuStart = threadBean.getCurrentThreadCpuTime();
+            long translationStart = System.nanoTime();
+            session.handleDownstreamPacket(packet);
+            long translationTime = System.nanoTime() - translationStart;
+            translationCpuTime.addAndGet(threadBean.getCurrentThreadCpuTime() - cpuStart);
+
+            latencies.computeIfAbsent(captured.getPacketClass(), clazz -> new LatencyHistogram()).record(translationTime);
+        }
+    }
+
+    private void report(long wallTime, long processCpuTime, long heapUsed, long bedrockPackets) {
+        long javaPackets = (long) packets.size() * sessionCount;
+
+        System.out.println();
+        System.out.printf("%-40s %10s %10s %10s %10s %10s %10s%n", "Packet", "Count", "Mean us", "p50 us", "p99 us", "p99.9 us", "Max us");
+
+        List<Map.Entry<Class<? extends Packet>, LatencyHistogram>> entries = new ArrayList<>(latencies.entrySet());
+        entries.sort(Comparator.comparingLong((Map.Entry<Class<? extends Packet>, LatencyHistogram> entry) -> entry.getValue().getTotal()).reversed());
+        for (Map.Entry<Class<? extends Packet>, LatencyHistogram> entry : entries) {
+            LatencyHistogram histogram = entry.getValue();
+            System.out.printf("%-40s %10d %10.1f %10.1f %10.1f %10.1f %10.1f%n",
+                    entry.getKey().getSimpleName(),
+                    histogram.getCount(),
+                    histogram.getMean() / 1000,
+                    histogram.getValueAtPercentile(50) / 1000D,
+                    histogram.getValueAtPercentile(99) / 1000D,
+                    histogram.getValueAtPercentile(99.9) / 1000D,
+                    histogram.getMax() / 1000D);
+        }
+
+        double seconds = wallTime / 1e9;
+        System.out.println();
+        System.out.printf("Sessions:                 %d on %d threads%s%n", sessionCount, threads, realtime ? " (realtime)" : "");
+        System.out.printf("Java packets:             %d (%d failed to decode)%n", javaPackets, failedPackets.get());
+        System.out.printf("Bedrock packets:          %d%n", bedrockPackets);
+        System.out.printf("Wall time:                %.2f s (%.0f Java packets/s)%n", seconds, javaPackets / seconds);
+        System.out.printf("Translation CPU/session:  %.2f ms%n", translationCpuTime.get() / 1e6 / sessionCount);
+        if (processCpuTime >= 0) {
+            System.out.printf("Process CPU/session:      %.2f ms%n", processCpuTime / 1e6 / sessionCount);
+        }
+        System.out.printf("Heap/session:             %.1f KiB%n", heapUsed / 1024D / sessionCount);
+    }
+
+    private static void awaitIdle(GeyserConnector connector) throws InterruptedException {
+        int idlePolls = 0;
+        while (idlePolls < 3) {
+            TimeUnit.MILLISECONDS.sleep(50);
+            idlePolls = isIdle(connector) ? idlePolls + 1 : 0;
+        }
+    }
+
+    private static boolean isIdle(GeyserConnector connector) {
+        for (ThreadPoolExecutor pool : connector.getThreadPools().values()) {
+            if (pool.getActiveCount() != 0)
+                return false;
+
+            // The general pool always has periodic tasks queued
+            if (pool != connector.getGeneralThreadPool() && !pool.getQueue().isEmpty())
+                return false;
+        }
+        return true;
+    }
+
+    private static long usedHeapAfterGc(MemoryMXBean memoryBean) throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            TimeUnit.MILLISECONDS.sleep(100);
+        }
+        return memoryBean.getHeapMemoryUsage().getUsed();
+    }
+
+    private static long getProcessCpuTime() {
+        OperatingSystemMXBean osBean = ManagementFactory.getOperatingSystemMXBean();
+        if (osBean instanceof com.sun.management.OperatingSystemMXBean) {
+            return ((com.sun.management.OperatingSystemMXBean) osBean).getProcessCpuTime();
+        }
+        return -1;
+    }
+}
@@ -78,4 +78,9 @@ public class GeyserBukkitLogger implements IGeyserLogger {
     public void setDebug(boolean debug) {
         debugMode = debug;
     }
+
+    @Override
+    public boolean isDebug() {
+        return debugMode;
+    }
 }
@@ -94,7 +94,7 @@ public class GeyserBungeeConfiguration implements IGeyserConfiguration {
 
     @Override
     public int getGeneralThreadPool() {
-        return config.getInt("general-thread-pool", 32);
+        return config.getInt("general-thread-pool", 0);
     }
 
     @Override
@@ -112,6 +112,61 @@ public class GeyserBungeeConfiguration implements IGeyserConfiguration {
         return Paths.get(dataFolder.toString(), config.getString("floodgate-key-file", "public-key.pem"));
     }
 
+    @Override
+    public int getMaxUpstreamBatchSize() {
+        return config.getInt("max-upstream-batch-size", 64);
+    }
+
+    @Override
+    public int getUpstreamCompressionLevel() {
+        return config.getInt("upstream-compression-level", -1);
+    }
+
+    @Override
+    public int getUpstreamCompressionThreshold() {
+        return config.getInt("upstream-compression-threshold", 0);
+    }
+
+    @Override
+    public int getEntityViewDistance() {
+        return config.getInt("entity-view-distance", 0);
+    }
+
+    @Override
+    public int getMaxVisibleEntitiesPerType() {
+        return config.getInt("max-visible-entities-per-type", 0);
+    }
+
+    @Override
+    public boolean isCaptureDownstreamPackets() {
+        return config.getBoolean("capture-downstream-packets", false);
+    }
+
+    @Override
+    public int getPrometheusPort() {
+        return config.getInt("prometheus-port", 0);
+    }
+
+    @Override
+    public boolean isSingleThreadedSessions() {
+        return config.getBoolean("single-threaded-sessions", false);
+    }
+
+    @Override
+    public int getChunkThreadPool() {
+        return config.getInt("chunk-thread-pool", 0);
+    }
+
+    @Override
+    public int getSkinThreadPool() {
+        return config.getInt("skin-thread-pool", 0);
+    }
+
+    @Override
+    public int getLoginThreadPool() {
+        return config.getInt("login-thread-pool", 0);
+    }
+
     @Override
     public BungeeMetricsInfo getMetrics() {
         return metricsInfo;
@@ -80,4 +80,9 @@ public class GeyserBungeeLogger implements IGeyserLogger {
     public void setDebug(boolean debug) {
         debugMode = debug;
     }
+
+    @Override
+    public boolean isDebug() {
+        return debugMode;
+    }
 }
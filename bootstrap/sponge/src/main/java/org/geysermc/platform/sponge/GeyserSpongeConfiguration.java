@@ -97,7 +97,7 @@ public class GeyserSpongeConfiguration implements IGeyserConfiguration {
 
     @Override
     public int getGeneralThreadPool() {
-        return node.getNode("genereal-thread-pool").getInt(32);
+        return node.getNode("general-thread-pool").getInt(0);
     }
 
     @Override
@@ -115,6 +115,61 @@ public class GeyserSpongeConfiguration implements IGeyserConfiguration {
         return Paths.get(dataFolder.toString(), node.getNode("floodgate-key-file").getString("public-key.pem"));
     }
 
+    @Override
+    public int getMaxUpstreamBatchSize() {
+        return node.getNode("max-upstream-batch-size").getInt(64);
+    }
+
+    @Override
+    public int getUpstreamCompressionLevel() {
+        return node.getNode("upstream-compression-level").getInt(-1);
+    }
+
+    @Override
+    public int getUpstreamCompressionThreshold() {
+        return node.getNode("upstream-compression-threshold").getInt(0);
+    }
+
+    @Override
+    public int getEntityViewDistance() {
+        return node.getNode("entity-view-distance").getInt(0);
+    }
+
+    @Override
+    public int getMaxVisibleEntitiesPerType() {
+        return node.getNode("max-visible-entities-per-type").getInt(0);
+    }
+
+    @Override
+    public boolean isCaptureDownstreamPackets() {
+        return node.getNode("capture-downstream-packets").getBoolean(false);
+    }
+
+    @Override
+    public int getPrometheusPort() {
+        return node.getNode("prometheus-port").getInt(0);
+    }
+
+    @Override
+    public boolean isSingleThreadedSessions() {
+        return node.getNode("single-threaded-sessions").getBoolean(false);
+    }
+
+    @Override
+    public int getChunkThreadPool() {
+        return node.getNode("chunk-thread-pool").getInt(0);
+    }
+
+    @Override
+    public int getSkinThreadPool() {
+        return node.getNode("skin-thread-pool").getInt(0);
+    }
+
+    @Override
+    public int getLoginThreadPool() {
+        return node.getNode("login-thread-pool").getInt(0);
+    }
+
     @Override
     public SpongeMetricsInfo getMetrics() {
         return metricsInfo;
@@ -76,4 +76,9 @@ public class GeyserSpongeLogger implements IGeyserLogger {
     public void setDebug(boolean debugMode) {
         this.debugMode = debugMode;
     }
+
+    @Override
+    public boolean isDebug() {
+        return debugMode;
+    }
 }
@@ -66,6 +66,39 @@ public class GeyserConfiguration implements IGeyserConfiguration {
     @JsonProperty("default-locale")
     private String defaultLocale;
 
+    @JsonProperty("max-upstream-batch-size")
+    private int maxUpstreamBatchSize = 64;
+
+    @JsonProperty("upstream-compression-level")
+    private int upstreamCompressionLevel = -1;
+
+    @JsonProperty("upstream-compression-threshold")
+    private int upstreamCompressionThreshold = 0;
+
+    @JsonProperty("entity-view-distance")
+    private int entityViewDistance = 0;
+
+    @JsonProperty("max-visible-entities-per-type")
+    private int maxVisibleEntitiesPerType = 0;
+
+    @JsonProperty("capture-downstream-packets")
+    private boolean captureDownstreamPackets = false;
+
+    @JsonProperty("prometheus-port")
+    private int prometheusPort = 0;
+
+    @JsonProperty("single-threaded-sessions")
+    private boolean singleThreadedSessions = false;
+
+    @JsonProperty("chunk-thread-pool")
+    private int chunkThreadPool = 0;
+
+    @JsonProperty("skin-thread-pool")
+    private int skinThreadPool = 0;
+
+    @JsonProperty("login-thread-pool")
+    private int loginThreadPool = 0;
+
     private MetricsInfo metrics;
 
     @Override
@@ -87,7 +87,9 @@ public class GeyserLogger extends SimpleTerminalConsole implements IGeyserLogger
 
     @Override
     public void debug(String message) {
-        log.debug(printConsole(ChatColor.GRAY + message, colored));
+        if (log.isDebugEnabled()) {
+            log.debug(printConsole(ChatColor.GRAY + message, colored));
+        }
     }
 
     public static String printConsole(String message, boolean colors) {
@@ -99,6 +101,11 @@ public class GeyserLogger extends SimpleTerminalConsole implements IGeyserLogger
         Configurator.setLevel(log.getName(), debug ? org.apache.logging.log4j.Level.DEBUG : log.getLevel());
     }
 
+    @Override
+    public boolean isDebug() {
+        return log.isDebugEnabled();
+    }
+
     @Override
     public String getName() {
         return "CONSOLE";
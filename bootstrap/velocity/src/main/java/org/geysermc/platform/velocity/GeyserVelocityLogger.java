@@ -76,4 +76,9 @@ public class GeyserVelocityLogger implements IGeyserLogger {
     public void setDebug(boolean debugMode) {
         this.debugMode = debugMode;
     }
+
+    @Override
+    public boolean isDebug() {
+        return debugMode;
+    }
 }
\ No newline at end of file
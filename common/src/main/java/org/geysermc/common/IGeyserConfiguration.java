@@ -50,6 +50,28 @@ public interface IGeyserConfiguration {
 
     Path getFloodgateKeyFile();
 
+    int getMaxUpstreamBatchSize();
+
+    int getUpstreamCompressionLevel();
+
+    int getUpstreamCompressionThreshold();
+
+    int getEntityViewDistance();
+
+    int getMaxVisibleEntitiesPerType();
+
+    boolean isCaptureDownstreamPackets();
+
+    int getPrometheusPort();
+
+    boolean isSingleThreadedSessions();
+
+    int getChunkThreadPool();
+
+    int getSkinThreadPool();
+
+    int getLoginThreadPool();
+
     IMetricsInfo getMetrics();
 
     interface IBedrockConfiguration {
@@ -25,6 +25,8 @@
 
 package org.geysermc.common.logger;
 
+import java.util.function.Supplier;
+
 public interface IGeyserLogger {
 
     /**
@@ -72,10 +74,105 @@ public interface IGeyserLogger {
      */
     void debug(String message);
 
+    /**
+     * Logs an info message to console, replacing every {@code {}} in the message
+     * with the next argument
+     *
+     * @param message the message to log
+     * @param arguments the arguments to insert
+     */
+    default void info(String message, Object... arguments) {
+        info(format(message, arguments));
+    }
+
+    /**
+     * Logs a debug message to console, replacing the {@code {}} in the message
+     * with the argument. Nothing is built if debug messages are not printed.
+     *
+     * @param message the message to log
+     * @param argument the argument to insert
+     */
+    default void debug(String message, Object argument) {
+        if (isDebug()) {
+            debug(format(message, argument));
+        }
+    }
+
+    /**
+     * Logs a debug message to console, replacing the two {@code {}} in the message
+     * with the arguments. Nothing is built if debug messages are not printed.
+     *
+     * @param message the message to log
+     * @param first the first argument to insert
+     * @param second the second argument to insert
+     */
+    default void debug(String message, Object first, Object second) {
+        if (isDebug()) {
+            debug(format(message, first, second));
+        }
+    }
+
+    /**
+     * Logs a debug message to console, replacing every {@code {}} in the message
+     * with the next argument. Nothing is built if debug messages are not printed.
+     *
+     * @param message the message to log
+     * @param arguments the arguments to insert
+     */
+    default void debug(String message, Object... arguments) {
+        if (isDebug()) {
+            debug(format(message, arguments));
+        }
+    }
+
+    /**
+     * Logs a debug message to console. The supplier is only called if debug
+     * messages are printed.
+     *
+     * @param message supplies the message to log
+     */
+    default void debug(Supplier<String> message) {
+        if (isDebug()) {
+            debug(message.get());
+        }
+    }
+
     /**
      * Sets if the logger should print debug messages
      *
      * @param debug if the logger should print debug messages
      */
     void setDebug(boolean debug);
+
+    /**
+     * Checks if debug messages are printed. Callers building expensive
+     * messages should check this first.
+     *
+     * @return if the logger prints debug messages
+     */
+    boolean isDebug();
+
+    /**
+     * Replaces every {@code {}} in a message with the next argument.
+     * Extra placeholders are kept and extra arguments are ignored.
+     *
+     * @param message the message with placeholders
+     * @param arguments the arguments to insert
+     * @return the formatted message
+     */
+    static String format(String message, Object... arguments) {
+        if (arguments == null || arguments.length == 0) {
+            return message;
+        }
+
+        StringBuilder builder = new StringBuilder(message.length() + arguments.length * 16);
+        int start = 0;
+        int argument = 0;
+        int placeholder;
+        while (argument < arguments.length && (placeholder = message.indexOf("{}", start)) != -1) {
+            builder.append(message, start, placeholder).append(arguments[argument++]);
+            start = placeholder + 2;
+        }
+        return builder.append(message, start, message.length()).toString();
+    }
 }
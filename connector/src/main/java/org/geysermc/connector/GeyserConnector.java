@@ -36,23 +36,30 @@ import org.geysermc.common.PlatformType;
 import org.geysermc.common.bootstrap.IGeyserBootstrap;
 import org.geysermc.common.logger.IGeyserLogger;
 import org.geysermc.connector.command.GeyserCommandMap;
+import org.geysermc.connector.metrics.GeyserStats;
 import org.geysermc.connector.metrics.Metrics;
+import org.geysermc.connector.metrics.PrometheusEndpoint;
 import org.geysermc.connector.network.ConnectorServerEventHandler;
 import org.geysermc.connector.network.remote.RemoteServer;
+import org.geysermc.connector.network.session.BatchCompressor;
 import org.geysermc.connector.network.session.GeyserSession;
+import org.geysermc.connector.network.session.SessionManager;
 import org.geysermc.connector.network.translators.Translators;
+import org.geysermc.connector.thread.GeyserScheduledThreadPool;
+import org.geysermc.connector.thread.GeyserThreadPool;
 import org.geysermc.connector.thread.PingPassthroughThread;
 import org.geysermc.connector.utils.Toolbox;
 import org.geysermc.common.IGeyserConfiguration;
 
+import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.text.DecimalFormat;
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
-import java.util.UUID;
-import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
 @Getter
@@ -63,7 +70,9 @@ public class GeyserConnector {
     public static final String NAME = "Geyser";
     public static final String VERSION = "1.0-SNAPSHOT";
 
-    private final Map<InetSocketAddress, GeyserSession> players = new HashMap<>();
+    private static final int SHUTDOWN_KICK_TIMEOUT_SECONDS = 10;
+
+    private final SessionManager sessionManager = new SessionManager();
 
     private static GeyserConnector instance;
 
@@ -74,14 +83,35 @@ public class GeyserConnector {
 
     private boolean shuttingDown = false;
 
+    /**
+     * Runs scheduled and short background tasks
+     */
     private final ScheduledExecutorService generalThreadPool;
+    private final GeyserThreadPool chunkThreadPool;
+    private final GeyserThreadPool skinThreadPool;
+    private final GeyserThreadPool loginThreadPool;
+
+    /**
+     * The threads the serial executors of sessions run on, null if sessions aren't single threaded
+     */
+    private final GeyserThreadPool sessionThreadPool;
+
+    /**
+     * Every thread pool by name, for statistics
+     */
+    private final Map<String, ThreadPoolExecutor> threadPools = new LinkedHashMap<>();
+
     private PingPassthroughThread passthroughThread;
 
     private BedrockServer bedrockServer;
+    private ConnectorServerEventHandler serverEventHandler;
+    private BatchCompressor batchCompressor;
     private PlatformType platformType;
     private IGeyserBootstrap bootstrap;
 
     private Metrics metrics;
+    private GeyserStats stats;
+    private PrometheusEndpoint prometheusEndpoint;
 
     private GeyserConnector(PlatformType platformType, IGeyserBootstrap bootstrap) {
         long startupTime = System.currentTimeMillis();
@@ -101,7 +131,21 @@ public class GeyserConnector {
         logger.info("");
         logger.info("******************************************");
 
-        this.generalThreadPool = Executors.newScheduledThreadPool(config.getGeneralThreadPool());
+        GeyserScheduledThreadPool generalThreadPool = new GeyserScheduledThreadPool("General", GeyserThreadPool.getSize(config.getGeneralThreadPool(), 0.5, 2));
+        this.generalThreadPool = generalThreadPool;
+        this.chunkThreadPool = new GeyserThreadPool("Chunk", GeyserThreadPool.getSize(config.getChunkThreadPool(), 1, 1));
+        // Skins and logins mostly wait on the network, so they get more threads than cores
+        this.skinThreadPool = new GeyserThreadPool("Skin", GeyserThreadPool.getSize(config.getSkinThreadPool(), 2, 4), true);
+        this.loginThreadPool = new GeyserThreadPool("Login", GeyserThreadPool.getSize(config.getLoginThreadPool(), 4, 16), true);
+        this.sessionThreadPool = config.isSingleThreadedSessions() ? new GeyserThreadPool("Session", GeyserThreadPool.getSize(0, 1, 1)) : null;
+
+        threadPools.put(generalThreadPool.getName(), generalThreadPool);
+        threadPools.put(chunkThreadPool.getName(), chunkThreadPool);
+        threadPools.put(skinThreadPool.getName(), skinThreadPool);
+        threadPools.put(loginThreadPool.getName(), loginThreadPool);
+        if (sessionThreadPool != null) {
+            threadPools.put(sessionThreadPool.getName(), sessionThreadPool);
+        }
 
         logger.setDebug(config.isDebugMode());
 
@@ -116,8 +160,23 @@ public class GeyserConnector {
         if (config.isPingPassthrough())
             generalThreadPool.scheduleAtFixedRate(passthroughThread, 1, 1, TimeUnit.SECONDS);
 
+        batchCompressor = new BatchCompressor(config.getUpstreamCompressionLevel(), config.getUpstreamCompressionThreshold());
+
         bedrockServer = new BedrockServer(new InetSocketAddress(config.getBedrock().getAddress(), config.getBedrock().getPort()));
-        bedrockServer.setHandler(new ConnectorServerEventHandler(this));
+        serverEventHandler = new ConnectorServerEventHandler(this);
+        generalThreadPool.scheduleAtFixedRate(serverEventHandler::resetPingCounts, 1, 1, TimeUnit.SECONDS);
+        bedrockServer.setHandler(serverEventHandler);
+        sessionManager.addListener(new SessionManager.SessionListener() {
+            @Override
+            public void onSessionAdded(GeyserSession session) {
+                serverEventHandler.updatePong();
+            }
+
+            @Override
+            public void onSessionRemoved(GeyserSession session) {
+                serverEventHandler.updatePong();
+            }
+        });
         bedrockServer.bind().whenComplete((avoid, throwable) -> {
             if (throwable == null) {
                 logger.info("Started Geyser on " + config.getBedrock().getAddress() + ":" + config.getBedrock().getPort());
@@ -127,10 +186,20 @@ public class GeyserConnector {
             }
         }).join();
 
+        stats = new GeyserStats(this);
+        if (config.getPrometheusPort() > 0) {
+            try {
+                prometheusEndpoint = new PrometheusEndpoint(stats, config.getPrometheusPort());
+                logger.info("Serving statistics on http://127.0.0.1:" + config.getPrometheusPort() + "/metrics");
+            } catch (IOException e) {
+                logger.error("Failed to start the statistics endpoint on port " + config.getPrometheusPort(), e);
+            }
+        }
+
         if (config.getMetrics().isEnabled()) {
             metrics = new Metrics(this, "GeyserMC", config.getMetrics().getUniqueId(), false, java.util.logging.Logger.getLogger(""));
             metrics.addCustomChart(new Metrics.SingleLineChart("servers", () -> 1));
-            metrics.addCustomChart(new Metrics.SingleLineChart("players", players::size));
+            metrics.addCustomChart(new Metrics.SingleLineChart("players", sessionManager::size));
             metrics.addCustomChart(new Metrics.SimplePie("authMode", authType.name()::toLowerCase));
             metrics.addCustomChart(new Metrics.SimplePie("platform", platformType::getPlatformName));
         }
@@ -143,43 +212,32 @@ public class GeyserConnector {
         bootstrap.getGeyserLogger().info("Shutting down Geyser.");
         shuttingDown = true;
 
-        if (players.size() >= 1) {
-            bootstrap.getGeyserLogger().info("Kicking " + players.size() + " player(s)");
+        if (!sessionManager.isEmpty()) {
+            bootstrap.getGeyserLogger().info("Kicking " + sessionManager.size() + " player(s)");
 
-            for (GeyserSession playerSession : players.values()) {
+            CompletableFuture<Void> future = sessionManager.awaitEmpty();
+            for (GeyserSession playerSession : sessionManager.getSessions()) {
                 playerSession.disconnect("Geyser Proxy shutting down.");
             }
 
-            CompletableFuture<Void> future = CompletableFuture.runAsync(new Runnable() {
-                @Override
-                public void run() {
-                    // Simulate a long-running Job
-                    try {
-                        while (true) {
-                            if (players.size() == 0) {
-                                return;
-                            }
-
-                            TimeUnit.MILLISECONDS.sleep(100);
-                        }
-                    } catch (InterruptedException e) {
-                        throw new IllegalStateException(e);
-                    }
-                }
-            });
-
-            // Block and wait for the future to complete
+            // Block until the disconnect handlers have removed every session
             try {
-                future.get();
+                future.get(SHUTDOWN_KICK_TIMEOUT_SECONDS, TimeUnit.SECONDS);
                 bootstrap.getGeyserLogger().info("Kicked all players");
             } catch (Exception e) {
                 // Quietly fail
             }
         }
 
-        generalThreadPool.shutdown();
+        for (ThreadPoolExecutor threadPool : threadPools.values()) {
+            threadPool.shutdown();
+        }
+        passthroughThread.shutdown();
         bedrockServer.close();
-        players.clear();
+        if (prometheusEndpoint != null) {
+            prometheusEndpoint.stop();
+        }
+        sessionManager.clear();
         remoteServer = null;
         authType = null;
         commandMap.getCommands().clear();
@@ -188,12 +246,19 @@ public class GeyserConnector {
         bootstrap.getGeyserLogger().info("Geyser shutdown successfully.");
     }
 
+    /**
+     * @return every thread pool of Geyser by name
+     */
+    public Map<String, ThreadPoolExecutor> getThreadPools() {
+        return Collections.unmodifiableMap(threadPools);
+    }
+
     public void addPlayer(GeyserSession player) {
-        players.put(player.getSocketAddress(), player);
+        sessionManager.addSession(player);
     }
 
     public void removePlayer(GeyserSession player) {
-        players.remove(player.getSocketAddress());
+        sessionManager.removeSession(player);
     }
 
     public static GeyserConnector start(PlatformType platformType, IGeyserBootstrap bootstrap) {
@@ -47,7 +47,7 @@ public class ReloadCommand extends GeyserCommand {
             return;
         }
         sender.sendMessage(ChatColor.YELLOW + "Reloading Geyser configurations... all connected bedrock clients will be kicked.");
-        for (GeyserSession session : connector.getPlayers().values()) {
+        for (GeyserSession session : connector.getSessionManager().getSessions()) {
             session.getUpstream().disconnect("Geyser has been reloaded... sorry for the inconvenience!");
         }
         connector.reload();
@@ -87,7 +87,32 @@ public class Entity {
         this.dimension = 0;
 
         setPosition(position);
+        initializeMetadata();
+    }
+
+    /**
+     * Reinitializes a despawned entity so the object can be reused for a new entity of the same type.
+     * The entity must not be referenced by any cache anymore.
+     */
+    public void reset(long entityId, long geyserId, Vector3f position, Vector3f motion, Vector3f rotation) {
+        this.entityId = entityId;
+        this.geyserId = geyserId;
+        this.motion = motion;
+        this.rotation = rotation;
 
+        this.valid = false;
+        this.dimension = 0;
+        this.scale = 1;
+
+        passengers.clear();
+        attributes.clear();
+        metadata.clear();
+
+        setPosition(position);
+        initializeMetadata();
+    }
+
+    private void initializeMetadata() {
         metadata.put(EntityData.SCALE, 1f);
         metadata.put(EntityData.MAX_AIR, (short) 400);
         metadata.put(EntityData.AIR, (short) 0);
@@ -116,7 +141,9 @@ public class Entity {
         valid = true;
         session.getUpstream().sendPacket(addEntityPacket);
 
-        session.getConnector().getLogger().debug("Spawned entity " + entityType + " at location " + position + " with id " + geyserId + " (java id " + entityId + ")");
+        if (session.getConnector().getLogger().isDebug()) {
+            session.getConnector().getLogger().debug("Spawned entity " + entityType + " at location " + position + " with id " + geyserId + " (java id " + entityId + ")");
+        }
     }
 
     /**
@@ -140,6 +167,8 @@ public class Entity {
     public void moveRelative(GeyserSession session, double relX, double relY, double relZ, Vector3f rotation, boolean isOnGround) {
         setRotation(rotation);
         this.position = Vector3f.from(position.getX() + relX, position.getY() + relY, position.getZ() + relZ);
+        if (!session.getEntityVisibilityManager().updateEntity(this))
+            return;
 
         MoveEntityAbsolutePacket moveEntityPacket = new MoveEntityAbsolutePacket();
         moveEntityPacket.setRuntimeEntityId(geyserId);
@@ -158,6 +187,8 @@ public class Entity {
     public void moveAbsolute(GeyserSession session, Vector3f position, Vector3f rotation, boolean isOnGround) {
         setPosition(position);
         setRotation(rotation);
+        if (!session.getEntityVisibilityManager().updateEntity(this))
+            return;
 
         MoveEntityAbsolutePacket moveEntityPacket = new MoveEntityAbsolutePacket();
         moveEntityPacket.setRuntimeEntityId(geyserId);
@@ -27,13 +27,21 @@ package org.geysermc.connector.entity;
 
 import com.nukkitx.math.vector.Vector3f;
 import com.nukkitx.protocol.bedrock.packet.SpawnExperienceOrbPacket;
+import lombok.Getter;
+import lombok.Setter;
 import org.geysermc.connector.entity.type.EntityType;
 import org.geysermc.connector.network.session.GeyserSession;
 
 public class ExpOrbEntity extends Entity {
 
+    @Getter
+    @Setter
     private int amount;
 
+    public ExpOrbEntity(long entityId, long geyserId, EntityType entityType, Vector3f position, Vector3f motion, Vector3f rotation) {
+        this(0, entityId, geyserId, entityType, position, motion, rotation);
+    }
+
     public ExpOrbEntity(int amount, long entityId, long geyserId, EntityType entityType, Vector3f position, Vector3f motion, Vector3f rotation) {
         super(entityId, geyserId, entityType, position, motion, rotation);
 
@@ -28,6 +28,7 @@ package org.geysermc.connector.entity;
 import com.github.steveice10.mc.protocol.data.game.entity.metadata.EntityMetadata;
 import com.github.steveice10.mc.protocol.data.game.entity.metadata.ItemStack;
 import com.nukkitx.math.vector.Vector3f;
+import com.nukkitx.protocol.bedrock.data.ItemData;
 import com.nukkitx.protocol.bedrock.packet.AddItemEntityPacket;
 import org.geysermc.connector.entity.type.EntityType;
 import org.geysermc.connector.network.session.GeyserSession;
@@ -35,24 +36,54 @@ import org.geysermc.connector.network.translators.Translators;
 
 public class ItemEntity extends Entity {
 
+    /**
+     * The translated item, kept so the entity can be spawned again after it was hidden
+     */
+    private ItemData item;
+
     public ItemEntity(long entityId, long geyserId, EntityType entityType, Vector3f position, Vector3f motion, Vector3f rotation) {
         super(entityId, geyserId, entityType, position, motion, rotation);
     }
 
+    @Override
+    public void reset(long entityId, long geyserId, Vector3f position, Vector3f motion, Vector3f rotation) {
+        super.reset(entityId, geyserId, position, motion, rotation);
+        this.item = null;
+    }
+
+    @Override
+    public void spawnEntity(GeyserSession session) {
+        if (item == null) {
+            super.spawnEntity(session);
+            return;
+        }
+
+        valid = true;
+        sendItemPacket(session);
+    }
+
     @Override
     public void updateBedrockMetadata(EntityMetadata entityMetadata, GeyserSession session) {
         if (entityMetadata.getId() == 7) {
-            AddItemEntityPacket itemPacket = new AddItemEntityPacket();
-            itemPacket.setRuntimeEntityId(geyserId);
-            itemPacket.setPosition(position);
-            itemPacket.setMotion(motion);
-            itemPacket.setUniqueEntityId(geyserId);
-            itemPacket.setFromFishing(false);
-            itemPacket.getMetadata().putAll(metadata);
-            itemPacket.setItemInHand(Translators.getItemTranslator().translateToBedrock((ItemStack) entityMetadata.getValue()));
-            session.getUpstream().sendPacket(itemPacket);
+            item = Translators.getItemTranslator().translateToBedrock((ItemStack) entityMetadata.getValue());
+            // Hidden items are sent once they are spawned
+            if (valid) {
+                sendItemPacket(session);
+            }
         }
 
         super.updateBedrockMetadata(entityMetadata, session);
     }
+
+    private void sendItemPacket(GeyserSession session) {
+        AddItemEntityPacket itemPacket = new AddItemEntityPacket();
+        itemPacket.setRuntimeEntityId(geyserId);
+        itemPacket.setPosition(position);
+        itemPacket.setMotion(motion);
+        itemPacket.setUniqueEntityId(geyserId);
+        itemPacket.setFromFishing(false);
+        itemPacket.getMetadata().putAll(metadata);
+        itemPacket.setItemInHand(item);
+        session.getUpstream().sendPacket(itemPacket);
+    }
 }
@@ -59,7 +59,7 @@ public class PaintingEntity extends Entity {
 
         valid = true;
 
-        session.getConnector().getLogger().debug("Spawned painting on " + position);
+        session.getConnector().getLogger().debug("Spawned painting on {}", position);
     }
 
     public Vector3f fixOffset(boolean toBedrock) {
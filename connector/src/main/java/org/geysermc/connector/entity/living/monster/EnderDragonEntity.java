@@ -81,6 +81,8 @@ public class EnderDragonEntity extends InsentientEntity {
         valid = true;
         session.getUpstream().sendPacket(addEntityPacket);
 
-        session.getConnector().getLogger().debug("Spawned entity " + entityType + " at location " + position + " with id " + geyserId + " (java id " + entityId + ")");
+        if (session.getConnector().getLogger().isDebug()) {
+            session.getConnector().getLogger().debug("Spawned entity " + entityType + " at location " + position + " with id " + geyserId + " (java id " + entityId + ")");
+        }
     }
 }
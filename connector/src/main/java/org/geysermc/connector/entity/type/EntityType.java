@@ -40,136 +40,140 @@ import org.geysermc.connector.entity.living.monster.raid.SpellcasterIllagerEntit
 @Getter
 public enum EntityType {
 
-    CHICKEN(AnimalEntity.class, 10, 0.7f, 0.4f),
-    COW(AnimalEntity.class, 11, 1.4f, 0.9f),
-    PIG(PigEntity.class, 12, 0.9f),
-    SHEEP(SheepEntity.class, 13, 1.3f, 0.9f),
-    WOLF(WolfEntity.class, 14, 0.85f, 0.6f),
-    VILLAGER(VillagerEntity.class, 15, 1.8f, 0.6f, 0.6f, 1.62f),
-    MOOSHROOM(AnimalEntity.class, 16, 1.4f, 0.9f),
-    SQUID(WaterEntity.class, 17, 0.8f),
-    RABBIT(RabbitEntity.class, 18, 0.5f, 0.4f),
-    BAT(AmbientEntity.class, 19, 0.9f, 0.5f),
-    IRON_GOLEM(GolemEntity.class, 20, 2.7f, 1.4f),
-    SNOW_GOLEM(GolemEntity.class, 21, 1.9f, 0.7f),
-    OCELOT(OcelotEntity.class, 22, 0.35f, 0.3f),
-    HORSE(HorseEntity.class, 23, 1.6f, 1.3965f),
-    DONKEY(ChestedHorseEntity.class, 24, 1.6f, 1.3965f),
-    MULE(ChestedHorseEntity.class, 25, 1.6f, 1.3965f),
-    SKELETON_HORSE(AbstractHorseEntity.class, 26, 1.6f, 1.3965f),
-    ZOMBIE_HORSE(AbstractHorseEntity.class, 27, 1.6f, 1.3965f),
-    POLAR_BEAR(PolarBearEntity.class, 28, 1.4f, 1.3f),
-    LLAMA(LlamaEntity.class, 29, 1.87f, 0.9f),
-    TRADER_LLAMA(TraderLlamaEntity.class, 29, 1.187f, 0.9f),
-    PARROT(ParrotEntity.class, 30, 0.9f, 0.5f),
-    DOLPHIN(WaterEntity.class, 31, 0.6f, 0.9f),
-    ZOMBIE(ZombieEntity.class, 32, 1.8f, 0.6f, 0.6f, 1.62f),
-    CREEPER(CreeperEntity.class, 33, 1.7f, 0.6f, 0.6f, 1.62f),
-    SKELETON(AbstractSkeletonEntity.class, 34, 1.8f, 0.6f, 0.6f, 1.62f),
-    SPIDER(SpiderEntity.class, 35, 0.9f, 1.4f, 1.4f, 1f),
-    ZOMBIE_PIGMAN(MonsterEntity.class, 36, 1.8f, 0.6f, 0.6f, 1.62f),
-    SLIME(InsentientEntity.class, 37, 0.51f),
-    ENDERMAN(EndermanEntity.class, 38, 2.9f, 0.6f),
-    SILVERFISH(MonsterEntity.class, 39, 0.3f, 0.4f),
-    CAVE_SPIDER(MonsterEntity.class, 40, 0.5f, 0.7f),
-    GHAST(FlyingEntity.class, 41, 4.0f),
-    MAGMA_CUBE(InsentientEntity.class, 42, 0.51f),
-    BLAZE(BlazeEntity.class, 43, 1.8f, 0.6f),
-    ZOMBIE_VILLAGER(ZombieEntity.class, 44, 1.8f, 0.6f, 0.6f, 1.62f),
-    WITCH(RaidParticipantEntity.class, 45, 1.8f, 0.6f, 0.6f, 1.62f),
-    STRAY(AbstractSkeletonEntity.class, 46, 1.8f, 0.6f, 0.6f, 1.62f),
-    HUSK(ZombieEntity.class, 47, 1.8f, 0.6f, 0.6f, 1.62f),
-    WITHER_SKELETON(AbstractSkeletonEntity.class, 48, 2.4f, 0.7f),
-    GUARDIAN(GuardianEntity.class, 49, 0.85f),
-    ELDER_GUARDIAN(GuardianEntity.class, 50, 1.9975f),
-    NPC(PlayerEntity.class, 51, 1.8f, 0.6f, 0.6f, 1.62f),
-    WITHER(MonsterEntity.class, 52, 3.5f, 0.9f),
-    ENDER_DRAGON(EnderDragonEntity.class, 53, 4f, 13f),
-    SHULKER(GolemEntity.class, 54, 1f, 1f),
-    ENDERMITE(MonsterEntity.class, 55, 0.3f, 0.4f),
-    AGENT(Entity.class, 56, 0f),
-    VINDICATOR(AbstractIllagerEntity.class, 57, 1.8f, 0.6f, 0.6f, 1.62f),
-    PILLAGER(AbstractIllagerEntity.class, 114, 1.8f, 0.6f, 0.6f, 1.62f),
-    WANDERING_TRADER(AbstractMerchantEntity.class, 118, 1.8f, 0.6f, 0.6f, 1.62f),
-    PHANTOM(FlyingEntity.class, 58, 0.5f, 0.9f, 0.9f, 0.6f),
-    RAVAGER(RaidParticipantEntity.class, 59, 1.9f, 1.2f),
+    CHICKEN(AnimalEntity::new, 10, 0.7f, 0.4f),
+    COW(AnimalEntity::new, 11, 1.4f, 0.9f),
+    PIG(PigEntity::new, 12, 0.9f),
+    SHEEP(SheepEntity::new, 13, 1.3f, 0.9f),
+    WOLF(WolfEntity::new, 14, 0.85f, 0.6f),
+    VILLAGER(VillagerEntity::new, 15, 1.8f, 0.6f, 0.6f, 1.62f),
+    MOOSHROOM(AnimalEntity::new, 16, 1.4f, 0.9f),
+    SQUID(WaterEntity::new, 17, 0.8f),
+    RABBIT(RabbitEntity::new, 18, 0.5f, 0.4f),
+    BAT(AmbientEntity::new, 19, 0.9f, 0.5f),
+    IRON_GOLEM(GolemEntity::new, 20, 2.7f, 1.4f),
+    SNOW_GOLEM(GolemEntity::new, 21, 1.9f, 0.7f),
+    OCELOT(OcelotEntity::new, 22, 0.35f, 0.3f),
+    HORSE(HorseEntity::new, 23, 1.6f, 1.3965f),
+    DONKEY(ChestedHorseEntity::new, 24, 1.6f, 1.3965f),
+    MULE(ChestedHorseEntity::new, 25, 1.6f, 1.3965f),
+    SKELETON_HORSE(AbstractHorseEntity::new, 26, 1.6f, 1.3965f),
+    ZOMBIE_HORSE(AbstractHorseEntity::new, 27, 1.6f, 1.3965f),
+    POLAR_BEAR(PolarBearEntity::new, 28, 1.4f, 1.3f),
+    LLAMA(LlamaEntity::new, 29, 1.87f, 0.9f),
+    TRADER_LLAMA(TraderLlamaEntity::new, 29, 1.187f, 0.9f),
+    PARROT(ParrotEntity::new, 30, 0.9f, 0.5f),
+    DOLPHIN(WaterEntity::new, 31, 0.6f, 0.9f),
+    ZOMBIE(ZombieEntity::new, 32, 1.8f, 0.6f, 0.6f, 1.62f),
+    CREEPER(CreeperEntity::new, 33, 1.7f, 0.6f, 0.6f, 1.62f),
+    SKELETON(AbstractSkeletonEntity::new, 34, 1.8f, 0.6f, 0.6f, 1.62f),
+    SPIDER(SpiderEntity::new, 35, 0.9f, 1.4f, 1.4f, 1f),
+    ZOMBIE_PIGMAN(MonsterEntity::new, 36, 1.8f, 0.6f, 0.6f, 1.62f),
+    SLIME(InsentientEntity::new, 37, 0.51f),
+    ENDERMAN(EndermanEntity::new, 38, 2.9f, 0.6f),
+    SILVERFISH(MonsterEntity::new, 39, 0.3f, 0.4f),
+    CAVE_SPIDER(MonsterEntity::new, 40, 0.5f, 0.7f),
+    GHAST(FlyingEntity::new, 41, 4.0f),
+    MAGMA_CUBE(InsentientEntity::new, 42, 0.51f),
+    BLAZE(BlazeEntity::new, 43, 1.8f, 0.6f),
+    ZOMBIE_VILLAGER(ZombieEntity::new, 44, 1.8f, 0.6f, 0.6f, 1.62f),
+    WITCH(RaidParticipantEntity::new, 45, 1.8f, 0.6f, 0.6f, 1.62f),
+    STRAY(AbstractSkeletonEntity::new, 46, 1.8f, 0.6f, 0.6f, 1.62f),
+    HUSK(ZombieEntity::new, 47, 1.8f, 0.6f, 0.6f, 1.62f),
+    WITHER_SKELETON(AbstractSkeletonEntity::new, 48, 2.4f, 0.7f),
+    GUARDIAN(GuardianEntity::new, 49, 0.85f),
+    ELDER_GUARDIAN(GuardianEntity::new, 50, 1.9975f),
+    NPC(null, 51, 1.8f, 0.6f, 0.6f, 1.62f),
+    WITHER(MonsterEntity::new, 52, 3.5f, 0.9f),
+    ENDER_DRAGON(EnderDragonEntity::new, 53, 4f, 13f),
+    SHULKER(GolemEntity::new, 54, 1f, 1f),
+    ENDERMITE(MonsterEntity::new, 55, 0.3f, 0.4f),
+    AGENT(Entity::new, 56, 0f),
+    VINDICATOR(AbstractIllagerEntity::new, 57, 1.8f, 0.6f, 0.6f, 1.62f),
+    PILLAGER(AbstractIllagerEntity::new, 114, 1.8f, 0.6f, 0.6f, 1.62f),
+    WANDERING_TRADER(AbstractMerchantEntity::new, 118, 1.8f, 0.6f, 0.6f, 1.62f),
+    PHANTOM(FlyingEntity::new, 58, 0.5f, 0.9f, 0.9f, 0.6f),
+    RAVAGER(RaidParticipantEntity::new, 59, 1.9f, 1.2f),
 
-    ARMOR_STAND(ArmorStandEntity.class, 61, 0f),
-    TRIPOD_CAMERA(Entity.class, 62, 0f),
-    PLAYER(PlayerEntity.class, 63, 1.8f, 0.6f, 0.6f, 1.62f),
-    ITEM(ItemEntity.class, 64, 0.25f, 0.25f),
-    TNT(Entity.class, 65, 0.98f, 0.98f),
-    FALLING_BLOCK(FallingBlockEntity.class, 66, 0.98f, 0.98f),
-    MOVING_BLOCK(Entity.class, 67, 0f),
-    EXPERIENCE_BOTTLE(ThrowableEntity.class, 68, 0.25f, 0.25f),
-    EXPERIENCE_ORB(ExpOrbEntity.class, 69, 0f),
-    EYE_OF_ENDER(Entity.class, 70, 0f),
-    END_CRYSTAL(EnderCrystalEntity.class, 71, 0f),
-    FIREWORK_ROCKET(Entity.class, 72, 0f),
-    TRIDENT(ArrowEntity.class, 73, 0f),
-    TURTLE(AnimalEntity.class, 74, 0.4f, 1.2f),
-    CAT(CatEntity.class, 75, 0.35f, 0.3f),
-    SHULKER_BULLET(Entity.class, 76, 0f),
-    FISHING_BOBBER(Entity.class, 77, 0f),
-    CHALKBOARD(Entity.class, 78, 0f),
-    DRAGON_FIREBALL(ItemedFireballEntity.class, 79, 0f),
-    ARROW(ArrowEntity.class, 80, 0.25f, 0.25f),
-    SNOWBALL(ThrowableEntity.class, 81, 0f),
-    EGG(ThrowableEntity.class, 82, 0f),
-    PAINTING(PaintingEntity.class, 83, 0f),
-    MINECART(MinecartEntity.class, 84, 0f),
-    FIREBALL(ItemedFireballEntity.class, 85, 0f),
-    POTION(ThrowableEntity.class, 86, 0f),
-    ENDER_PEARL(ThrowableEntity.class, 87, 0f),
-    LEASH_KNOT(Entity.class, 88, 0f),
-    WITHER_SKULL(Entity.class, 89, 0f),
-    BOAT(Entity.class, 90, 0.7f, 1.6f, 1.6f, 0.35f),
-    WITHER_SKULL_DANGEROUS(Entity.class, 91, 0f),
-    LIGHTNING_BOLT(Entity.class, 93, 0f),
-    SMALL_FIREBALL(ItemedFireballEntity.class, 94, 0f),
-    AREA_EFFECT_CLOUD(Entity.class, 95, 0f),
-    HOPPER_MINECART(MinecartEntity.class, 96, 0f),
-    TNT_MINECART(MinecartEntity.class, 97, 0f),
-    CHEST_MINECART(MinecartEntity.class, 98, 0f),
+    ARMOR_STAND(ArmorStandEntity::new, 61, 0f),
+    TRIPOD_CAMERA(Entity::new, 62, 0f),
+    PLAYER(null, 63, 1.8f, 0.6f, 0.6f, 1.62f),
+    ITEM(ItemEntity::new, 64, 0.25f, 0.25f),
+    TNT(Entity::new, 65, 0.98f, 0.98f),
+    FALLING_BLOCK(null, 66, 0.98f, 0.98f),
+    MOVING_BLOCK(Entity::new, 67, 0f),
+    EXPERIENCE_BOTTLE(ThrowableEntity::new, 68, 0.25f, 0.25f),
+    EXPERIENCE_ORB(ExpOrbEntity::new, 69, 0f),
+    EYE_OF_ENDER(Entity::new, 70, 0f),
+    END_CRYSTAL(EnderCrystalEntity::new, 71, 0f),
+    FIREWORK_ROCKET(Entity::new, 72, 0f),
+    TRIDENT(ArrowEntity::new, 73, 0f),
+    TURTLE(AnimalEntity::new, 74, 0.4f, 1.2f),
+    CAT(CatEntity::new, 75, 0.35f, 0.3f),
+    SHULKER_BULLET(Entity::new, 76, 0f),
+    FISHING_BOBBER(Entity::new, 77, 0f),
+    CHALKBOARD(Entity::new, 78, 0f),
+    DRAGON_FIREBALL(ItemedFireballEntity::new, 79, 0f),
+    ARROW(ArrowEntity::new, 80, 0.25f, 0.25f),
+    SNOWBALL(ThrowableEntity::new, 81, 0f),
+    EGG(ThrowableEntity::new, 82, 0f),
+    PAINTING(null, 83, 0f),
+    MINECART(MinecartEntity::new, 84, 0f),
+    FIREBALL(ItemedFireballEntity::new, 85, 0f),
+    POTION(ThrowableEntity::new, 86, 0f),
+    ENDER_PEARL(ThrowableEntity::new, 87, 0f),
+    LEASH_KNOT(Entity::new, 88, 0f),
+    WITHER_SKULL(Entity::new, 89, 0f),
+    BOAT(Entity::new, 90, 0.7f, 1.6f, 1.6f, 0.35f),
+    WITHER_SKULL_DANGEROUS(Entity::new, 91, 0f),
+    LIGHTNING_BOLT(Entity::new, 93, 0f),
+    SMALL_FIREBALL(ItemedFireballEntity::new, 94, 0f),
+    AREA_EFFECT_CLOUD(Entity::new, 95, 0f),
+    HOPPER_MINECART(MinecartEntity::new, 96, 0f),
+    TNT_MINECART(MinecartEntity::new, 97, 0f),
+    CHEST_MINECART(MinecartEntity::new, 98, 0f),
 
-    COMMAND_BLOCK_MINECART(MinecartEntity.class, 100, 0f),
-    LINGERING_POTION(ThrowableEntity.class, 101, 0f),
-    LLAMA_SPIT(Entity.class, 102, 0f),
-    EVOKER_FANGS(Entity.class, 103, 0f),
-    EVOKER(SpellcasterIllagerEntity.class, 104, 0f),
-    VEX(MonsterEntity.class, 105, 0f),
-    ICE_BOMB(Entity.class, 106, 0f),
-    BALLOON(Entity.class, 107, 0f), //TODO
-    PUFFERFISH(AbstractFishEntity.class, 108, 0.7f, 0.7f),
-    SALMON(AbstractFishEntity.class, 109, 0.5f, 0.7f),
-    DROWNED(ZombieEntity.class, 110, 1.95f, 0.6f),
-    TROPICAL_FISH(AbstractFishEntity.class, 111, 0.6f, 0.6f),
-    COD(AbstractFishEntity.class, 112, 0.25f, 0.5f),
-    PANDA(PandaEntity.class, 113, 1.25f, 1.125f, 1.825f),
-    FOX(FoxEntity.class, 121, 0.5f, 1.25f),
-    BEE(BeeEntity.class, 122, 0.6f, 0.6f);
+    COMMAND_BLOCK_MINECART(MinecartEntity::new, 100, 0f),
+    LINGERING_POTION(ThrowableEntity::new, 101, 0f),
+    LLAMA_SPIT(Entity::new, 102, 0f),
+    EVOKER_FANGS(Entity::new, 103, 0f),
+    EVOKER(SpellcasterIllagerEntity::new, 104, 0f),
+    VEX(MonsterEntity::new, 105, 0f),
+    ICE_BOMB(Entity::new, 106, 0f),
+    BALLOON(Entity::new, 107, 0f), //TODO
+    PUFFERFISH(AbstractFishEntity::new, 108, 0.7f, 0.7f),
+    SALMON(AbstractFishEntity::new, 109, 0.5f, 0.7f),
+    DROWNED(ZombieEntity::new, 110, 1.95f, 0.6f),
+    TROPICAL_FISH(AbstractFishEntity::new, 111, 0.6f, 0.6f),
+    COD(AbstractFishEntity::new, 112, 0.25f, 0.5f),
+    PANDA(PandaEntity::new, 113, 1.25f, 1.125f, 1.825f),
+    FOX(FoxEntity::new, 121, 0.5f, 1.25f),
+    BEE(BeeEntity::new, 122, 0.6f, 0.6f);
 
-    private Class<? extends Entity> entityClass;
+    /**
+     * Creates the entity for this type, or null if the entity
+     * needs more data and is created by its spawn translator
+     */
+    private final EntityFactory<? extends Entity> factory;
     private final int type;
     private final float height;
     private final float width;
     private final float length;
     private final float offset;
 
-    EntityType(Class<? extends Entity> entityClass, int type, float height) {
-        this(entityClass, type, height, 0f);
+    EntityType(EntityFactory<? extends Entity> factory, int type, float height) {
+        this(factory, type, height, 0f);
     }
 
-    EntityType(Class<? extends Entity> entityClass, int type, float height, float width) {
-        this(entityClass, type, height, width, width);
+    EntityType(EntityFactory<? extends Entity> factory, int type, float height, float width) {
+        this(factory, type, height, width, width);
     }
 
-    EntityType(Class<? extends Entity> entityClass, int type, float height, float width, float length) {
-        this(entityClass, type, height, width, length, 0f);
+    EntityType(EntityFactory<? extends Entity> factory, int type, float height, float width, float length) {
+        this(factory, type, height, width, length, 0f);
     }
 
-    EntityType(Class<? extends Entity> entityClass, int type, float height, float width, float length, float offset) {
-        this.entityClass = entityClass;
+    EntityType(EntityFactory<? extends Entity> factory, int type, float height, float width, float length, float offset) {
+        this.factory = factory;
         this.type = type;
         this.height = height;
         this.width = width;
@@ -27,9 +27,12 @@ package org.geysermc.connector.inventory;
 
 import com.github.steveice10.mc.protocol.data.game.entity.metadata.ItemStack;
 import com.github.steveice10.mc.protocol.data.game.window.WindowType;
+import com.nukkitx.protocol.bedrock.data.ItemData;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.util.Arrays;
+
 public class Inventory {
 
     @Getter
@@ -50,9 +53,20 @@ public class Inventory {
     protected String title;
 
     @Getter
-    @Setter
     protected ItemStack[] items;
 
+    /**
+     * The Java items the client was last sent, indexed by Java slot
+     */
+    @Getter
+    protected ItemStack[] sentItems;
+
+    /**
+     * The translations of {@link #sentItems}, indexed by Java slot
+     */
+    @Getter
+    protected ItemData[] bedrockItems;
+
     public Inventory(int id, WindowType windowType, int size) {
         this("Inventory", id, windowType, size);
     }
@@ -64,6 +78,26 @@ public class Inventory {
         this.size = size;
 
         this.items = new ItemStack[size];
+        this.sentItems = new ItemStack[size];
+        this.bedrockItems = new ItemData[size];
+    }
+
+    public void setItems(ItemStack[] items) {
+        this.items = items;
+
+        // Windows are created before their size is known, so the caches grow with the first items sent
+        if (items.length > sentItems.length) {
+            this.sentItems = Arrays.copyOf(sentItems, items.length);
+            this.bedrockItems = Arrays.copyOf(bedrockItems, items.length);
+        }
+    }
+
+    /**
+     * Forgets every translation sent to the client, so the next update sends every slot again.
+     * Used when the client changed its inventory itself and may no longer match what it was sent.
+     */
+    public void invalidateBedrockItems() {
+        Arrays.fill(bedrockItems, null);
     }
 
     public ItemStack getItem(int slot) {
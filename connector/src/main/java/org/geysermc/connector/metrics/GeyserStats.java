@@ -0,0 +1,272 @@
+/*
+ * Copyright (c) 2019-2020 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.connector.metrics;
+
+import org.geysermc.common.ChatColor;
+import org.geysermc.connector.GeyserConnector;
+import org.geysermc.connector.network.session.GeyserSession;
+import org.geysermc.connector.network.session.UpstreamSession;
+import org.geysermc.connector.network.translators.Registry;
+import org.geysermc.connector.network.translators.java.world.JavaChunkDataTranslator;
+import org.geysermc.connector.thread.InstrumentedThreadPool;
+import org.geysermc.connector.utils.SkinProvider;
+import org.geysermc.connector.world.chunk.ChunkEncoder;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Collects the statistics shown by {@code /geyser stats} and served by the
+ * {@link PrometheusEndpoint}
+ */
+public class GeyserStats {
+
+    private final GeyserConnector connector;
+
+    public GeyserStats(GeyserConnector connector) {
+        this.connector = connector;
+    }
+
+    /**
+     * Describes the statistics for a command sender
+     *
+     * @param maxPacketTypes the amount of packet types to show for each direction
+     * @param sessions whether to list the traffic of every session
+     * @return the lines to send
+     */
+    public List<String> getSummary(int maxPacketTypes, boolean sessions) {
+        List<String> lines = new ArrayList<>();
+        lines.add("---- Geyser Statistics ----");
+        lines.add(ChatColor.YELLOW + "Sessions: " + ChatColor.WHITE + connector.getSessionManager().size());
+
+        lines.add(ChatColor.YELLOW + "Java translators by total time:");
+        addTranslationTimes(lines, Registry.JAVA, maxPacketTypes);
+        lines.add(ChatColor.YELLOW + "Bedrock translators by total time:");
+        addTranslationTimes(lines, Registry.BEDROCK, maxPacketTypes);
+        lines.add(ChatColor.YELLOW + "Untranslated packets: " + ChatColor.WHITE + "Java " + Registry.JAVA.getUntranslatedPackets()
+                + ", Bedrock " + Registry.BEDROCK.getUntranslatedPackets());
+
+        long encodedColumns = ChunkEncoder.getEncodedColumns();
+        lines.add(ChatColor.YELLOW + "Chunks: " + ChatColor.WHITE + JavaChunkDataTranslator.getPendingChunks() + " pending, "
+                + encodedColumns + " encoded (" + (encodedColumns == 0 ? 0 : ChunkEncoder.getEncodedBytes() / encodedColumns) + " bytes average)");
+
+        lines.add(ChatColor.YELLOW + "Skin cache: " + ChatColor.WHITE + hitRate(SkinProvider.getSkinCacheHits(), SkinProvider.getSkinCacheMisses())
+                + ", cape cache: " + hitRate(SkinProvider.getCapeCacheHits(), SkinProvider.getCapeCacheMisses()));
+
+        lines.add(ChatColor.YELLOW + "Thread pools:");
+        for (Map.Entry<String, ThreadPoolExecutor> entry : connector.getThreadPools().entrySet()) {
+            ThreadPoolExecutor pool = entry.getValue();
+            String line = String.format(Locale.ROOT, "  %s: %d/%d threads busy, %d queued, %d completed",
+                    entry.getKey(), pool.getActiveCount(), pool.getMaximumPoolSize(), pool.getQueue().size(), pool.getCompletedTaskCount());
+            if (pool instanceof InstrumentedThreadPool) {
+                InstrumentedThreadPool geyserPool = (InstrumentedThreadPool) pool;
+                line += String.format(Locale.ROOT, ", %d saturated, %.1f ms p99 wait",
+                        geyserPool.getSaturatedTasks(), geyserPool.getQueueTimes().getValueAtPercentile(99) / 1e6);
+            }
+            lines.add(line);
+        }
+
+        if (sessions) {
+            lines.add(ChatColor.YELLOW + "Session traffic:");
+            for (GeyserSession session : connector.getSessionManager().getSessions()) {
+                UpstreamSession upstream = session.getUpstream();
+                lines.add(String.format(Locale.ROOT, "  %s: %d packets from Java, %d batches to Bedrock (%d KiB, %d KiB compressed)",
+                        getName(session), session.getDownstreamPacketsReceived(), upstream.getBatchesSent(),
+                        upstream.getUncompressedBytesSent() / 1024, upstream.getCompressedBytesSent() / 1024));
+            }
+        }
+        return lines;
+    }
+
+    private static <T> void addTranslationTimes(List<String> lines, Registry<T> registry, int maxPacketTypes) {
+        List<Map.Entry<Class<? extends T>, LatencyHistogram>> entries = sortByTotalTime(registry);
+        for (int i = 0; i < Math.min(maxPacketTypes, entries.size()); i++) {
+            Map.Entry<Class<? extends T>, LatencyHistogram> entry = entries.get(i);
+            LatencyHistogram histogram = entry.getValue();
+            if (histogram.getCount() == 0) {
+                break;
+            }
+
+            lines.add(String.format(Locale.ROOT, "  %s: %d, %.1f ms total, %.1f us mean, %.1f us p99",
+                    entry.getKey().getSimpleName(), histogram.getCount(), histogram.getTotal() / 1e6,
+                    histogram.getMean() / 1e3, histogram.getValueAtPercentile(99) / 1e3));
+        }
+    }
+
+    private static String hitRate(long hits, long misses) {
+        long total = hits + misses;
+        return total == 0 ? "unused" : String.format(Locale.ROOT, "%.1f%% hits of %d", hits * 100D / total, total);
+    }
+
+    /**
+     * Writes every statistic in the Prometheus text exposition format
+     *
+     * @return the statistics
+     */
+    public String toPrometheus() {
+        StringBuilder builder = new StringBuilder(8192);
+
+        builder.append("# HELP geyser_sessions Connected Bedrock players\n");
+        builder.append("# TYPE geyser_sessions gauge\n");
+        builder.append("geyser_sessions ").append(connector.getSessionManager().size()).append('\n');
+
+        builder.append("# HELP geyser_translation_seconds Time spent translating packets\n");
+        builder.append("# TYPE geyser_translation_seconds summary\n");
+        appendTranslationTimes(builder, "java", Registry.JAVA);
+        appendTranslationTimes(builder, "bedrock", Registry.BEDROCK);
+
+        builder.append("# HELP geyser_untranslated_packets_total Packets received without a translator\n");
+        builder.append("# TYPE geyser_untranslated_packets_total counter\n");
+        builder.append("geyser_untranslated_packets_total{direction=\"java\"} ").append(Registry.JAVA.getUntranslatedPackets()).append('\n');
+        builder.append("geyser_untranslated_packets_total{direction=\"bedrock\"} ").append(Registry.BEDROCK.getUntranslatedPackets()).append('\n');
+
+        long downstreamPackets = 0;
+        long batches = 0;
+        long uncompressedBytes = 0;
+        long compressedBytes = 0;
+        long queuedTasks = 0;
+        for (GeyserSession session : connector.getSessionManager().getSessions()) {
+            UpstreamSession upstream = session.getUpstream();
+            downstreamPackets += session.getDownstreamPacketsReceived();
+            queuedTasks += session.getQueuedTasks();
+            batches += upstream.getBatchesSent();
+            uncompressedBytes += upstream.getUncompressedBytesSent();
+            compressedBytes += upstream.getCompressedBytesSent();
+        }
+
+        builder.append("# HELP geyser_downstream_packets Packets received from the Java server by the connected sessions\n");
+        builder.append("# TYPE geyser_downstream_packets gauge\n");
+        builder.append("geyser_downstream_packets ").append(downstreamPackets).append('\n');
+        builder.append("# HELP geyser_upstream_batches Batches sent to the connected Bedrock players\n");
+        builder.append("# TYPE geyser_upstream_batches gauge\n");
+        builder.append("geyser_upstream_batches ").append(batches).append('\n');
+        builder.append("# HELP geyser_upstream_bytes Bytes sent to the connected Bedrock players\n");
+        builder.append("# TYPE geyser_upstream_bytes gauge\n");
+        builder.append("geyser_upstream_bytes{compressed=\"false\"} ").append(uncompressedBytes).append('\n');
+        builder.append("geyser_upstream_bytes{compressed=\"true\"} ").append(compressedBytes).append('\n');
+        builder.append("# HELP geyser_session_tasks_queued Tasks waiting on the serial executors of the connected sessions\n");
+        builder.append("# TYPE geyser_session_tasks_queued gauge\n");
+        builder.append("geyser_session_tasks_queued ").append(queuedTasks).append('\n');
+
+        builder.append("# HELP geyser_chunks_pending Chunk columns waiting to be translated\n");
+        builder.append("# TYPE geyser_chunks_pending gauge\n");
+        builder.append("geyser_chunks_pending ").append(JavaChunkDataTranslator.getPendingChunks()).append('\n');
+        builder.append("# HELP geyser_chunks_encoded_total Chunk columns encoded for Bedrock\n");
+        builder.append("# TYPE geyser_chunks_encoded_total counter\n");
+        builder.append("geyser_chunks_encoded_total ").append(ChunkEncoder.getEncodedColumns()).append('\n');
+        builder.append("# HELP geyser_chunks_encoded_bytes_total Bytes of encoded chunk columns\n");
+        builder.append("# TYPE geyser_chunks_encoded_bytes_total counter\n");
+        builder.append("geyser_chunks_encoded_bytes_total ").append(ChunkEncoder.getEncodedBytes()).append('\n');
+
+        builder.append("# HELP geyser_texture_requests_total Skin and cape requests by cache result\n");
+        builder.append("# TYPE geyser_texture_requests_total counter\n");
+        builder.append("geyser_texture_requests_total{texture=\"skin\",result=\"hit\"} ").append(SkinProvider.getSkinCacheHits()).append('\n');
+        builder.append("geyser_texture_requests_total{texture=\"skin\",result=\"miss\"} ").append(SkinProvider.getSkinCacheMisses()).append('\n');
+        builder.append("geyser_texture_requests_total{texture=\"cape\",result=\"hit\"} ").append(SkinProvider.getCapeCacheHits()).append('\n');
+        builder.append("geyser_texture_requests_total{texture=\"cape\",result=\"miss\"} ").append(SkinProvider.getCapeCacheMisses()).append('\n');
+
+        appendThreadPools(builder, connector.getThreadPools());
+        return builder.toString();
+    }
+
+    private static void appendThreadPools(StringBuilder builder, Map<String, ThreadPoolExecutor> threadPools) {
+        builder.append("# HELP geyser_thread_pool_threads Threads of the thread pool by state\n");
+        builder.append("# TYPE geyser_thread_pool_threads gauge\n");
+        for (Map.Entry<String, ThreadPoolExecutor> entry : threadPools.entrySet()) {
+            builder.append("geyser_thread_pool_threads{pool=\"").append(entry.getKey()).append("\",state=\"active\"} ").append(entry.getValue().getActiveCount()).append('\n');
+            builder.append("geyser_thread_pool_threads{pool=\"").append(entry.getKey()).append("\",state=\"max\"} ").append(entry.getValue().getMaximumPoolSize()).append('\n');
+        }
+        builder.append("# HELP geyser_thread_pool_queued Tasks waiting for a thread\n");
+        builder.append("# TYPE geyser_thread_pool_queued gauge\n");
+        for (Map.Entry<String, ThreadPoolExecutor> entry : threadPools.entrySet()) {
+            builder.append("geyser_thread_pool_queued{pool=\"").append(entry.getKey()).append("\"} ").append(entry.getValue().getQueue().size()).append('\n');
+        }
+        builder.append("# HELP geyser_thread_pool_completed_total Tasks completed by the thread pool\n");
+        builder.append("# TYPE geyser_thread_pool_completed_total counter\n");
+        for (Map.Entry<String, ThreadPoolExecutor> entry : threadPools.entrySet()) {
+            builder.append("geyser_thread_pool_completed_total{pool=\"").append(entry.getKey()).append("\"} ").append(entry.getValue().getCompletedTaskCount()).append('\n');
+        }
+
+        builder.append("# HELP geyser_thread_pool_saturated_total Tasks that could not start right away because every thread of the pool was busy\n");
+        builder.append("# TYPE geyser_thread_pool_saturated_total counter\n");
+        for (Map.Entry<String, ThreadPoolExecutor> entry : threadPools.entrySet()) {
+            if (entry.getValue() instanceof InstrumentedThreadPool) {
+                builder.append("geyser_thread_pool_saturated_total{pool=\"").append(entry.getKey()).append("\"} ")
+                        .append(((InstrumentedThreadPool) entry.getValue()).getSaturatedTasks()).append('\n');
+            }
+        }
+        builder.append("# HELP geyser_thread_pool_wait_seconds Time tasks waited for a thread\n");
+        builder.append("# TYPE geyser_thread_pool_wait_seconds summary\n");
+        for (Map.Entry<String, ThreadPoolExecutor> entry : threadPools.entrySet()) {
+            if (!(entry.getValue() instanceof InstrumentedThreadPool)) {
+                continue;
+            }
+
+            LatencyHistogram queueTimes = ((InstrumentedThreadPool) entry.getValue()).getQueueTimes();
+            String labels = "pool=\"" + entry.getKey() + "\"";
+            for (double quantile : new double[] {0.5, 0.99}) {
+                builder.append("geyser_thread_pool_wait_seconds{").append(labels).append(",quantile=\"").append(quantile).append("\"} ")
+                        .append(queueTimes.getValueAtPercentile(quantile * 100) / 1e9).append('\n');
+            }
+            builder.append("geyser_thread_pool_wait_seconds_sum{").append(labels).append("} ").append(queueTimes.getTotal() / 1e9).append('\n');
+            builder.append("geyser_thread_pool_wait_seconds_count{").append(labels).append("} ").append(queueTimes.getCount()).append('\n');
+        }
+    }
+
+    private static <T> void appendTranslationTimes(StringBuilder builder, String direction, Registry<T> registry) {
+        for (Map.Entry<Class<? extends T>, LatencyHistogram> entry : sortByTotalTime(registry)) {
+            LatencyHistogram histogram = entry.getValue();
+            if (histogram.getCount() == 0) {
+                continue;
+            }
+
+            String labels = "direction=\"" + direction + "\",packet=\"" + entry.getKey().getSimpleName() + "\"";
+            for (double quantile : new double[] {0.5, 0.9, 0.99}) {
+                builder.append("geyser_translation_seconds{").append(labels).append(",quantile=\"").append(quantile).append("\"} ")
+                        .append(histogram.getValueAtPercentile(quantile * 100) / 1e9).append('\n');
+            }
+            builder.append("geyser_translation_seconds_sum{").append(labels).append("} ").append(histogram.getTotal() / 1e9).append('\n');
+            builder.append("geyser_translation_seconds_count{").append(labels).append("} ").append(histogram.getCount()).append('\n');
+        }
+    }
+
+    private static <T> List<Map.Entry<Class<? extends T>, LatencyHistogram>> sortByTotalTime(Registry<T> registry) {
+        List<Map.Entry<Class<? extends T>, LatencyHistogram>> entries = new ArrayList<>(registry.getTranslationTimes().entrySet());
+        entries.sort(Comparator.comparingLong((Map.Entry<Class<? extends T>, LatencyHistogram> entry) -> entry.getValue().getTotal()).reversed());
+        return entries;
+    }
+
+    private static String getName(GeyserSession session) {
+        if (session.getPlayerEntity().getUsername() != null) {
+            return session.getPlayerEntity().getUsername();
+        }
+        return session.getAuthData() != null ? session.getAuthData().getName() : String.valueOf(session.getSocketAddress());
+    }
+}
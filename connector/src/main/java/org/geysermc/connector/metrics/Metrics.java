@@ -147,7 +147,7 @@ public class Metrics {
      */
     private JsonObject getServerData() {
         // OS specific data
-        int playerAmount = connector.getPlayers().size();
+        int playerAmount = connector.getSessionManager().size();
 
         String osName = System.getProperty("os.name");
         String osArch = System.getProperty("os.arch");
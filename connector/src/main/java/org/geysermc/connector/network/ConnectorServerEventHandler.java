@@ -30,19 +30,50 @@ import com.nukkitx.protocol.bedrock.BedrockPong;
 import com.nukkitx.protocol.bedrock.BedrockServerEventHandler;
 import com.nukkitx.protocol.bedrock.BedrockServerSession;
 
+import lombok.Getter;
+
 import org.geysermc.common.IGeyserConfiguration;
 import org.geysermc.connector.GeyserConnector;
 import org.geysermc.connector.network.session.GeyserSession;
 import org.geysermc.connector.utils.MessageUtils;
 
+import java.net.InetAddress;
 import java.net.InetSocketAddress;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class ConnectorServerEventHandler implements BedrockServerEventHandler {
 
+    /**
+     * The maximum amount of pings a single address can send within one second
+     * before we stop answering it. The vanilla client pings about once a second.
+     */
+    private static final int MAX_PINGS_PER_SECOND = 10;
+
     private GeyserConnector connector;
 
+    /**
+     * The pong sent to every client. It is rebuilt whenever the data it depends on
+     * changes and is never modified once published.
+     */
+    private volatile BedrockPong pong;
+
+    private final Map<InetAddress, AtomicInteger> pingCounts = new ConcurrentHashMap<>();
+
+    @Getter
+    private final AtomicLong totalPings = new AtomicLong();
+    @Getter
+    private final AtomicLong rateLimitedPings = new AtomicLong();
+    @Getter
+    private volatile int pingsPerSecond;
+
+    private final AtomicInteger pingsThisSecond = new AtomicInteger();
+
     public ConnectorServerEventHandler(GeyserConnector connector) {
         this.connector = connector;
+        this.pong = createPong(null);
     }
 
     @Override
@@ -53,10 +84,41 @@ public class ConnectorServerEventHandler implements BedrockServerEventHandler {
 
     @Override
     public BedrockPong onQuery(InetSocketAddress inetSocketAddress) {
-        connector.getLogger().debug(inetSocketAddress + " has pinged you!");
+        totalPings.incrementAndGet();
+        pingsThisSecond.incrementAndGet();
+
+        int count = pingCounts.computeIfAbsent(inetSocketAddress.getAddress(), address -> new AtomicInteger()).incrementAndGet();
+        if (count > MAX_PINGS_PER_SECOND) {
+            if (count == MAX_PINGS_PER_SECOND + 1) {
+                connector.getLogger().debug("{} is pinging too fast, ignoring it for now", inetSocketAddress.getAddress());
+            }
+            rateLimitedPings.incrementAndGet();
+            return null;
+        }
+
+        return pong;
+    }
+
+    /**
+     * Rebuilds the cached pong. Called whenever the ping passthrough receives new
+     * status info or the amount of connected players changes.
+     */
+    public void updatePong() {
+        ServerStatusInfo serverInfo = connector.getConfig().isPingPassthrough() ? connector.getPassthroughThread().getInfo() : null;
+        this.pong = createPong(serverInfo);
+    }
+
+    /**
+     * Resets the per-address ping counters and samples the ping rate.
+     * Scheduled to run once every second.
+     */
+    public void resetPingCounts() {
+        pingCounts.clear();
+        pingsPerSecond = pingsThisSecond.getAndSet(0);
+    }
 
+    private BedrockPong createPong(ServerStatusInfo serverInfo) {
         IGeyserConfiguration config = connector.getConfig();
-        ServerStatusInfo serverInfo = connector.getPassthroughThread().getInfo();
 
         BedrockPong pong = new BedrockPong();
         pong.setEdition("MCPE");
@@ -65,7 +127,7 @@ public class ConnectorServerEventHandler implements BedrockServerEventHandler {
         pong.setProtocolVersion(GeyserConnector.BEDROCK_PACKET_CODEC.getProtocolVersion());
         pong.setVersion(GeyserConnector.BEDROCK_PACKET_CODEC.getMinecraftVersion());
         pong.setIpv4Port(config.getBedrock().getPort());
-        if (connector.getConfig().isPingPassthrough() && serverInfo != null) {
+        if (serverInfo != null) {
             String[] motd = MessageUtils.getBedrockMessage(serverInfo.getDescription()).split("\n");
             String mainMotd = motd[0]; // First line of the motd.
             String subMotd = (motd.length != 1) ? motd[1] : ""; // Second line of the motd if present, otherwise blank.
@@ -75,10 +137,10 @@ public class ConnectorServerEventHandler implements BedrockServerEventHandler {
             pong.setPlayerCount(serverInfo.getPlayerInfo().getOnlinePlayers());
             pong.setMaximumPlayerCount(serverInfo.getPlayerInfo().getMaxPlayers());
         } else {
-            pong.setPlayerCount(connector.getPlayers().size());
+            pong.setPlayerCount(connector.getSessionManager().size());
             pong.setMaximumPlayerCount(config.getMaxPlayers());
             pong.setMotd(config.getBedrock().getMotd1());
-            pong.setMotd(config.getBedrock().getMotd2());
+            pong.setSubMotd(config.getBedrock().getMotd2());
         }
 
         //Bedrock will not even attempt a connection if the client thinks the server is full
@@ -97,7 +159,7 @@ public class ConnectorServerEventHandler implements BedrockServerEventHandler {
         bedrockServerSession.addDisconnectHandler(disconnectReason -> {
             connector.getLogger().info("Bedrock user with ip: " + bedrockServerSession.getAddress().getAddress() + " has disconnected for reason " + disconnectReason);
 
-            GeyserSession player = connector.getPlayers().get(bedrockServerSession.getAddress());
+            GeyserSession player = connector.getSessionManager().getSession(bedrockServerSession.getAddress());
             if (player != null) {
                 player.disconnect(disconnectReason.name());
                 connector.removePlayer(player);
@@ -48,7 +48,9 @@ public class LoggingPacketHandler implements BedrockPacketHandler {
     }
 
     boolean defaultHandler(BedrockPacket packet) {
-        connector.getLogger().debug("Handled packet: " + packet.getClass().getSimpleName());
+        if (connector.getLogger().isDebug()) {
+            connector.getLogger().debug("Handled packet: " + packet.getClass().getSimpleName());
+        }
         return false;
     }
 
@@ -41,7 +41,24 @@ public class UpstreamPacketHandler extends LoggingPacketHandler {
     }
 
     private boolean translateAndDefault(BedrockPacket packet) {
-        return Registry.BEDROCK.translate(packet.getClass(), packet, session);
+        if (session.isSingleThreaded()) {
+            // The translation runs later, so whether the packet is handled depends on it having a translator
+            if (!Registry.BEDROCK.hasTranslator(packet.getClass()))
+                return false;
+
+            session.execute(() -> translate(packet));
+            return true;
+        }
+        return translate(packet);
+    }
+
+    private boolean translate(BedrockPacket packet) {
+        session.getUpstream().startBatch();
+        try {
+            return Registry.BEDROCK.translate(packet.getClass(), packet, session);
+        } finally {
+            session.getUpstream().endBatch();
+        }
     }
 
     @Override
@@ -0,0 +1,293 @@
+/*
+ * Copyright (c) 2019-2020 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.connector.network.remote;
+
+import com.github.steveice10.mc.auth.data.GameProfile;
+import com.github.steveice10.mc.protocol.MinecraftConstants;
+import com.github.steveice10.mc.protocol.data.handshake.HandshakeIntent;
+import com.github.steveice10.mc.protocol.data.message.Message;
+import com.github.steveice10.mc.protocol.data.status.PlayerInfo;
+import com.github.steveice10.mc.protocol.data.status.ServerStatusInfo;
+import com.github.steveice10.mc.protocol.data.status.VersionInfo;
+import com.github.steveice10.mc.protocol.packet.handshake.client.HandshakePacket;
+import com.github.steveice10.mc.protocol.packet.status.client.StatusQueryPacket;
+import com.github.steveice10.packetlib.packet.Packet;
+import com.github.steveice10.packetlib.tcp.io.ByteBufNetInput;
+import com.github.steveice10.packetlib.tcp.io.ByteBufNetOutput;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.nukkitx.network.VarInts;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.handler.codec.ByteToMessageDecoder;
+import io.netty.handler.timeout.ReadTimeoutHandler;
+
+import lombok.Getter;
+
+import org.geysermc.connector.GeyserConnector;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Polls the status of a single remote server.
+ *
+ * The status protocol only allows one request per connection, so each poll still opens
+ * a socket, but every poller shares the event loop it is given instead of spinning up
+ * a new one per request like a packetlib {@link com.github.steveice10.packetlib.Client} does.
+ * Failed polls back off exponentially so a downed backend isn't hammered every second.
+ */
+public class RemoteStatusPoller {
+
+    private static final int TIMEOUT_SECONDS = 5;
+    private static final long MAX_BACKOFF_MILLIS = TimeUnit.SECONDS.toMillis(30);
+
+    @Getter
+    private final RemoteServer remoteServer;
+    private final Bootstrap bootstrap;
+
+    @Getter
+    private volatile ServerStatusInfo info;
+
+    /**
+     * The time in milliseconds the last successful poll took, from connecting until the response was read
+     */
+    @Getter
+    private volatile long latency = -1;
+
+    @Getter
+    private final AtomicLong successCount = new AtomicLong();
+    @Getter
+    private final AtomicLong failureCount = new AtomicLong();
+
+    private final AtomicBoolean polling = new AtomicBoolean();
+    private volatile int consecutiveFailures = 0;
+    private volatile long nextPollTime = 0;
+
+    private Runnable updateListener;
+
+    public RemoteStatusPoller(RemoteServer remoteServer, EventLoopGroup eventLoopGroup) {
+        this.remoteServer = remoteServer;
+        this.bootstrap = new Bootstrap()
+                .group(eventLoopGroup)
+                .channel(NioSocketChannel.class)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) TimeUnit.SECONDS.toMillis(TIMEOUT_SECONDS))
+                .option(ChannelOption.TCP_NODELAY, true);
+    }
+
+    /**
+     * Sets a listener that is called every time new status info has been received
+     *
+     * @param updateListener the listener to call
+     */
+    public void setUpdateListener(Runnable updateListener) {
+        this.updateListener = updateListener;
+    }
+
+    /**
+     * Starts a new status request unless one is already in progress or
+     * the poller is backing off after a failure.
+     */
+    public void poll() {
+        if (System.currentTimeMillis() < nextPollTime || !polling.compareAndSet(false, true)) {
+            return;
+        }
+
+        long startTime = System.nanoTime();
+        bootstrap.clone().handler(new ChannelInitializer<SocketChannel>() {
+            @Override
+            protected void initChannel(SocketChannel channel) {
+                channel.pipeline()
+                        .addLast("timeout", new ReadTimeoutHandler(TIMEOUT_SECONDS))
+                        .addLast("frame", new VarIntFrameDecoder())
+                        .addLast("handler", new StatusHandler(startTime));
+            }
+        }).connect(remoteServer.getAddress(), remoteServer.getPort()).addListener(future -> {
+            if (!future.isSuccess()) {
+                onFailure();
+            }
+        });
+    }
+
+    private void onSuccess(ServerStatusInfo info, long startTime) {
+        this.info = info;
+        this.latency = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+        this.successCount.incrementAndGet();
+        this.consecutiveFailures = 0;
+        this.nextPollTime = 0;
+        this.polling.set(false);
+
+        if (updateListener != null) {
+            updateListener.run();
+        }
+    }
+
+    private void onFailure() {
+        this.failureCount.incrementAndGet();
+        this.consecutiveFailures++;
+        long backoff = Math.min(MAX_BACKOFF_MILLIS, TimeUnit.SECONDS.toMillis(1L << Math.min(consecutiveFailures, 5)));
+        this.nextPollTime = System.currentTimeMillis() + backoff;
+        this.polling.set(false);
+
+        GeyserConnector.getInstance().getLogger().debug("Unable to ping " + remoteServer.getAddress() + ":" + remoteServer.getPort() + ", retrying in " + backoff + "ms");
+    }
+
+    private static ServerStatusInfo parseStatus(String json) {
+        JsonObject object = new JsonParser().parse(json).getAsJsonObject();
+
+        JsonObject version = object.get("version").getAsJsonObject();
+        VersionInfo versionInfo = new VersionInfo(version.get("name").getAsString(), version.get("protocol").getAsInt());
+
+        JsonObject players = object.get("players").getAsJsonObject();
+        GameProfile[] profiles = new GameProfile[0];
+        if (players.has("sample")) {
+            JsonArray sample = players.get("sample").getAsJsonArray();
+            profiles = new GameProfile[sample.size()];
+            for (int i = 0; i < sample.size(); i++) {
+                JsonObject profile = sample.get(i).getAsJsonObject();
+                profiles[i] = new GameProfile(UUID.fromString(profile.get("id").getAsString()), profile.get("name").getAsString());
+            }
+        }
+        PlayerInfo playerInfo = new PlayerInfo(players.get("max").getAsInt(), players.get("online").getAsInt(), profiles);
+
+        JsonElement description = object.get("description");
+        Message message = description != null ? Message.fromJson(description) : Message.fromString("");
+
+        // The favicon is never sent to Bedrock clients so we don't bother decoding it
+        return new ServerStatusInfo(versionInfo, playerInfo, message, null);
+    }
+
+    private static void writePacket(ChannelHandlerContext ctx, int id, Packet packet) throws IOException {
+        ByteBuf body = ctx.alloc().buffer();
+        ByteBuf frame = null;
+        try {
+            ByteBufNetOutput output = new ByteBufNetOutput(body);
+            output.writeVarInt(id);
+            packet.write(output);
+
+            frame = ctx.alloc().buffer(5 + body.readableBytes());
+            VarInts.writeUnsignedInt(frame, body.readableBytes());
+            frame.writeBytes(body);
+            ctx.write(frame);
+            frame = null;
+        } finally {
+            body.release();
+            if (frame != null) {
+                frame.release();
+            }
+        }
+    }
+
+    private class StatusHandler extends SimpleChannelInboundHandler<ByteBuf> {
+
+        private final long startTime;
+        private boolean done = false;
+
+        StatusHandler(long startTime) {
+            this.startTime = startTime;
+        }
+
+        @Override
+        public void channelActive(ChannelHandlerContext ctx) throws Exception {
+            writePacket(ctx, 0x00, new HandshakePacket(MinecraftConstants.PROTOCOL_VERSION, remoteServer.getAddress(), remoteServer.getPort(), HandshakeIntent.STATUS));
+            writePacket(ctx, 0x00, new StatusQueryPacket());
+            ctx.flush();
+        }
+
+        @Override
+        protected void channelRead0(ChannelHandlerContext ctx, ByteBuf buf) throws Exception {
+            ByteBufNetInput input = new ByteBufNetInput(buf);
+            if (input.readVarInt() != 0x00) {
+                return;
+            }
+
+            ServerStatusInfo info = parseStatus(input.readString());
+            done = true;
+            ctx.close();
+            onSuccess(info, startTime);
+        }
+
+        @Override
+        public void channelInactive(ChannelHandlerContext ctx) {
+            if (!done) {
+                done = true;
+                onFailure();
+            }
+        }
+
+        @Override
+        public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+            ctx.close();
+        }
+    }
+
+    /**
+     * Splits the incoming stream into Minecraft packets, which are prefixed with their VarInt length.
+     */
+    private static class VarIntFrameDecoder extends ByteToMessageDecoder {
+
+        @Override
+        protected void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) {
+            in.markReaderIndex();
+
+            int length = 0;
+            for (int i = 0; i < 5; i++) {
+                if (!in.isReadable()) {
+                    in.resetReaderIndex();
+                    return;
+                }
+
+                byte read = in.readByte();
+                length |= (read & 0x7F) << (i * 7);
+                if ((read & 0x80) == 0) {
+                    if (in.readableBytes() < length) {
+                        in.resetReaderIndex();
+                        return;
+                    }
+
+                    out.add(in.readRetainedSlice(length));
+                    return;
+                }
+            }
+
+            throw new IllegalStateException("Packet length VarInt is too big");
+        }
+    }
+}
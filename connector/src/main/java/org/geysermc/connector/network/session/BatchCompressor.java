@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2019-2020 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.connector.network.session;
+
+import com.nukkitx.network.VarInts;
+import com.nukkitx.protocol.bedrock.BedrockPacket;
+import com.nukkitx.protocol.bedrock.BedrockPacketCodec;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import lombok.Getter;
+
+import java.util.Collection;
+import java.util.zip.Deflater;
+
+/**
+ * Serializes and compresses batches of Bedrock packets.
+ *
+ * Bedrock batches are always zlib streams for this protocol version, so batches below the threshold
+ * are written as stored (level 0) blocks. This skips the compression work while staying valid for the client.
+ * One compressor is shared by every session; the deflaters are kept per thread.
+ */
+public class BatchCompressor {
+
+    private static final int DEFLATE_CHUNK_SIZE = 8192;
+
+    @Getter
+    private final int level;
+    @Getter
+    private final int threshold;
+
+    private final ThreadLocal<Deflater> deflater;
+    private final ThreadLocal<Deflater> storingDeflater = ThreadLocal.withInitial(() -> new Deflater(Deflater.NO_COMPRESSION));
+
+    /**
+     * @param level the zlib compression level, from 0 to 9 or -1 for the zlib default
+     * @param threshold batches smaller than this amount of bytes are not compressed
+     */
+    public BatchCompressor(int level, int threshold) {
+        this.level = Math.max(Deflater.DEFAULT_COMPRESSION, Math.min(Deflater.BEST_COMPRESSION, level));
+        this.threshold = threshold;
+        this.deflater = ThreadLocal.withInitial(() -> new Deflater(this.level));
+    }
+
+    /**
+     * Writes the packets into a single buffer, each one prefixed with its length
+     *
+     * @param codec the codec to encode the packets with
+     * @param packets the packets to serialize
+     * @return the uncompressed batch, which has to be released by the caller
+     */
+    public ByteBuf serialize(BedrockPacketCodec codec, Collection<BedrockPacket> packets) {
+        ByteBuf uncompressed = ByteBufAllocator.DEFAULT.heapBuffer(packets.size() << 3);
+        try {
+            for (BedrockPacket packet : packets) {
+                ByteBuf packetBuffer = codec.tryEncode(packet);
+                try {
+                    VarInts.writeUnsignedInt(uncompressed, packetBuffer.readableBytes());
+                    uncompressed.writeBytes(packetBuffer);
+                } finally {
+                    packetBuffer.release();
+                }
+            }
+            return uncompressed;
+        } catch (RuntimeException e) {
+            uncompressed.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Compresses a serialized batch
+     *
+     * @param uncompressed the serialized batch
+     * @return the compressed batch, which has to be released by the caller
+     */
+    public ByteBuf compress(ByteBuf uncompressed) {
+        int length = uncompressed.readableBytes();
+
+        byte[] input;
+        int offset;
+        if (uncompressed.hasArray()) {
+            input = uncompressed.array();
+            offset = uncompressed.arrayOffset() + uncompressed.readerIndex();
+        } else {
+            input = new byte[length];
+            uncompressed.getBytes(uncompressed.readerIndex(), input);
+            offset = 0;
+        }
+
+        Deflater deflater = (length < threshold ? storingDeflater : this.deflater).get();
+        deflater.reset();
+        deflater.setInput(input, offset, length);
+        deflater.finish();
+
+        ByteBuf compressed = ByteBufAllocator.DEFAULT.heapBuffer(Math.min(length, DEFLATE_CHUNK_SIZE) + 16);
+        while (!deflater.finished()) {
+            compressed.ensureWritable(DEFLATE_CHUNK_SIZE);
+            int written = deflater.deflate(compressed.array(), compressed.arrayOffset() + compressed.writerIndex(), compressed.writableBytes());
+            compressed.writerIndex(compressed.writerIndex() + written);
+        }
+        return compressed;
+    }
+}
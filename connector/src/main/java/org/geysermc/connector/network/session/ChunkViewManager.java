@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2019-2020 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.connector.network.session;
+
+import com.nukkitx.math.vector.Vector3i;
+import com.nukkitx.protocol.bedrock.packet.NetworkChunkPublisherUpdatePacket;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Tracks the chunk the client's view is centered on and the chunk
+ * columns the client currently has loaded.
+ */
+@RequiredArgsConstructor
+public class ChunkViewManager {
+
+    /**
+     * How many blocks the player has to move past the border of the current
+     * chunk before the view follows, so walking along a chunk border or
+     * flying across many borders quickly does not update the view every time
+     */
+    public static final int HYSTERESIS = 4;
+
+    private final GeyserSession session;
+
+    private final LongSet loadedColumns = new LongOpenHashSet();
+
+    @Getter
+    private boolean centered;
+    private int centerX;
+    private int centerZ;
+
+    /**
+     * The amount of chunk publisher updates sent to the client
+     */
+    @Getter
+    private int publisherUpdates;
+
+    /**
+     * Updates the view after the player moved
+     *
+     * @param position the block position of the player
+     */
+    public void updatePosition(Vector3i position) {
+        updatePosition(position.getX(), position.getY(), position.getZ(), false);
+    }
+
+    /**
+     * Updates the view after the player was teleported, ignoring the hysteresis
+     *
+     * @param position the block position of the player
+     */
+    public void teleport(Vector3i position) {
+        updatePosition(position.getX(), position.getY(), position.getZ(), true);
+    }
+
+    private synchronized void updatePosition(int x, int y, int z, boolean force) {
+        if (centered && !force) {
+            int offsetX = x - (centerX << 4);
+            int offsetZ = z - (centerZ << 4);
+            if (offsetX >= -HYSTERESIS && offsetX < 16 + HYSTERESIS && offsetZ >= -HYSTERESIS && offsetZ < 16 + HYSTERESIS)
+                return;
+        }
+
+        int newCenterX = x >> 4;
+        int newCenterZ = z >> 4;
+        if (centered && newCenterX == centerX && newCenterZ == centerZ)
+            return;
+
+        centered = true;
+        centerX = newCenterX;
+        centerZ = newCenterZ;
+
+        NetworkChunkPublisherUpdatePacket chunkPublisherUpdatePacket = new NetworkChunkPublisherUpdatePacket();
+        chunkPublisherUpdatePacket.setPosition(Vector3i.from(x, y, z));
+        chunkPublisherUpdatePacket.setRadius(session.getRenderDistance() << 4);
+        session.getUpstream().sendPacket(chunkPublisherUpdatePacket);
+        publisherUpdates++;
+
+        // The client drops every column outside of the new view by itself
+        int radius = session.getRenderDistance();
+        LongIterator iterator = loadedColumns.iterator();
+        while (iterator.hasNext()) {
+            long column = iterator.nextLong();
+            if (!isInView(getX(column), getZ(column), radius)) {
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Forgets the view, for example after the client changed dimension
+     */
+    public synchronized void reset() {
+        centered = false;
+        loadedColumns.clear();
+    }
+
+    /**
+     * Checks if a chunk column is within the current view
+     *
+     * @param x the chunk x coordinate
+     * @param z the chunk z coordinate
+     * @return true if the column is within the view or the view is unknown
+     */
+    public synchronized boolean isInView(int x, int z) {
+        return !centered || isInView(x, z, session.getRenderDistance());
+    }
+
+    private boolean isInView(int x, int z, int radius) {
+        int distanceX = x - centerX;
+        int distanceZ = z - centerZ;
+        return distanceX * distanceX + distanceZ * distanceZ <= radius * radius;
+    }
+
+    public synchronized void markLoaded(int x, int z) {
+        loadedColumns.add(toKey(x, z));
+    }
+
+    public synchronized void markUnloaded(int x, int z) {
+        loadedColumns.remove(toKey(x, z));
+    }
+
+    public synchronized boolean isLoaded(int x, int z) {
+        return loadedColumns.contains(toKey(x, z));
+    }
+
+    public synchronized int getLoadedColumnCount() {
+        return loadedColumns.size();
+    }
+
+    private static long toKey(int x, int z) {
+        return ((long) x << 32) | (z & 0xFFFFFFFFL);
+    }
+
+    private static int getX(long key) {
+        return (int) (key >> 32);
+    }
+
+    private static int getZ(long key) {
+        return (int) key;
+    }
+}
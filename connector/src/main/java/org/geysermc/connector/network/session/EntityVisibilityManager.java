@@ -0,0 +1,238 @@
+/*
+ * Copyright (c) 2019-2020 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.connector.network.session;
+
+import com.nukkitx.math.vector.Vector3f;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import lombok.Getter;
+import org.geysermc.connector.entity.Entity;
+import org.geysermc.connector.entity.PlayerEntity;
+import org.geysermc.connector.entity.type.EntityType;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps entities that are too far away from the player, or that exceed the
+ * amount of visible entities of their type, cached but despawned on the client.
+ * Hidden entities are spawned with their current state once they come into range.
+ */
+public class EntityVisibilityManager {
+
+    /**
+     * How far the player has to move before every entity is checked again, in blocks
+     */
+    private static final float RECHECK_DISTANCE = 4;
+
+    private final GeyserSession session;
+
+    private final int viewDistanceSquared;
+    private final int maxVisiblePerType;
+
+    @Getter
+    private final boolean enabled;
+
+    private final LongSet visibleEntities = new LongOpenHashSet();
+    private final int[] visibleCounts = new int[EntityType.values().length];
+
+    private Vector3f lastCheckPosition;
+
+    /**
+     * The amount of entities currently hidden from the client
+     */
+    @Getter
+    private int hiddenEntities;
+
+    public EntityVisibilityManager(GeyserSession session, int viewDistance, int maxVisiblePerType) {
+        this.session = session;
+        this.viewDistanceSquared = viewDistance * viewDistance;
+        this.maxVisiblePerType = maxVisiblePerType;
+        this.enabled = viewDistance > 0 || maxVisiblePerType > 0;
+    }
+
+    /**
+     * Spawns an entity on the client if it should be visible
+     *
+     * @param entity the entity to spawn
+     */
+    public void spawnEntity(Entity entity) {
+        if (!isManaged(entity)) {
+            entity.spawnEntity(session);
+            return;
+        }
+
+        boolean show;
+        synchronized (this) {
+            show = canShow(entity);
+            if (show) {
+                markShown(entity);
+            } else {
+                hiddenEntities++;
+            }
+        }
+
+        // Spawning calls back into the entity cache, so it happens without holding the lock
+        if (show) {
+            entity.spawnEntity(session);
+        }
+    }
+
+    /**
+     * Checks if an entity that moved should still be visible and spawns or despawns it accordingly
+     *
+     * @param entity the entity that moved
+     * @return true if the movement should be sent to the client, false if the entity is
+     *         hidden or was just spawned at its new position
+     */
+    public boolean updateEntity(Entity entity) {
+        if (!isManaged(entity))
+            return true;
+
+        boolean show = false;
+        boolean hide = false;
+        synchronized (this) {
+            boolean visible = visibleEntities.contains(entity.getGeyserId());
+            if (visible) {
+                if (isInRange(entity))
+                    return true;
+
+                markHidden(entity);
+                hide = true;
+            } else if (canShow(entity)) {
+                hiddenEntities--;
+                markShown(entity);
+                show = true;
+            }
+        }
+
+        // Spawning calls back into the entity cache, so it happens without holding the lock
+        if (show) {
+            entity.spawnEntity(session);
+        } else if (hide) {
+            entity.despawnEntity(session);
+        }
+        return false;
+    }
+
+    /**
+     * Forgets an entity that was removed from the cache
+     *
+     * @param entity the removed entity
+     */
+    public synchronized void removeEntity(Entity entity) {
+        if (!isManaged(entity))
+            return;
+
+        if (visibleEntities.remove(entity.getGeyserId())) {
+            visibleCounts[entity.getEntityType().ordinal()]--;
+        } else {
+            hiddenEntities--;
+        }
+    }
+
+    /**
+     * Checks every entity again once the player moved far enough
+     *
+     * @param position the new position of the player
+     */
+    public void updatePlayerPosition(Vector3f position) {
+        if (!enabled)
+            return;
+
+        synchronized (this) {
+            if (lastCheckPosition != null && lastCheckPosition.distanceSquared(position) < RECHECK_DISTANCE * RECHECK_DISTANCE)
+                return;
+
+            lastCheckPosition = position;
+        }
+
+        // Which entities change is decided while holding the locks, but they are spawned and despawned
+        // after releasing them, as spawning calls back into the entity cache
+        List<Entity> entities = session.getEntityCache().getEntitiesByType(Entity.class);
+        List<Entity> hidden = new ArrayList<>();
+        List<Entity> shown = new ArrayList<>();
+        synchronized (this) {
+            // Hide entities first so the freed slots of the per type cap can be used right away
+            for (Entity entity : entities) {
+                if (isManaged(entity) && visibleEntities.contains(entity.getGeyserId()) && !isInRange(entity)) {
+                    markHidden(entity);
+                    hidden.add(entity);
+                }
+            }
+            for (Entity entity : entities) {
+                if (isManaged(entity) && !visibleEntities.contains(entity.getGeyserId()) && canShow(entity)) {
+                    hiddenEntities--;
+                    markShown(entity);
+                    shown.add(entity);
+                }
+            }
+        }
+
+        for (Entity entity : hidden) {
+            entity.despawnEntity(session);
+        }
+        for (Entity entity : shown) {
+            entity.spawnEntity(session);
+        }
+    }
+
+    public synchronized void clear() {
+        visibleEntities.clear();
+        for (int i = 0; i < visibleCounts.length; i++) {
+            visibleCounts[i] = 0;
+        }
+        hiddenEntities = 0;
+        lastCheckPosition = null;
+    }
+
+    private boolean isManaged(Entity entity) {
+        // Players are never hidden as their skins and player list entries depend on them being spawned
+        return enabled && !entity.is(PlayerEntity.class);
+    }
+
+    private boolean isInRange(Entity entity) {
+        return viewDistanceSquared <= 0 || entity.getPosition().distanceSquared(session.getPlayerEntity().getPosition()) <= viewDistanceSquared;
+    }
+
+    private boolean canShow(Entity entity) {
+        if (maxVisiblePerType > 0 && visibleCounts[entity.getEntityType().ordinal()] >= maxVisiblePerType)
+            return false;
+
+        return isInRange(entity);
+    }
+
+    private void markShown(Entity entity) {
+        visibleEntities.add(entity.getGeyserId());
+        visibleCounts[entity.getEntityType().ordinal()]++;
+    }
+
+    private void markHidden(Entity entity) {
+        visibleEntities.remove(entity.getGeyserId());
+        visibleCounts[entity.getEntityType().ordinal()]--;
+        hiddenEntities++;
+    }
+}
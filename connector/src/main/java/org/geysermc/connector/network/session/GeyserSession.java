@@ -39,7 +39,6 @@ import com.github.steveice10.packetlib.tcp.TcpSessionFactory;
 import com.nukkitx.math.GenericMath;
 import com.nukkitx.math.TrigMath;
 import com.nukkitx.math.vector.Vector2f;
-import com.nukkitx.math.vector.Vector2i;
 import com.nukkitx.math.vector.Vector3f;
 import com.nukkitx.math.vector.Vector3i;
 import com.nukkitx.nbt.tag.CompoundTag;
@@ -49,6 +48,7 @@ import com.nukkitx.protocol.bedrock.data.GameRuleData;
 import com.nukkitx.protocol.bedrock.data.PlayerPermission;
 import com.nukkitx.protocol.bedrock.packet.*;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -62,19 +62,24 @@ import org.geysermc.connector.network.remote.RemoteServer;
 import org.geysermc.connector.network.session.auth.AuthData;
 import org.geysermc.connector.network.session.auth.BedrockClientData;
 import org.geysermc.connector.network.session.cache.*;
+import org.geysermc.connector.network.session.capture.PacketCaptureWriter;
 import org.geysermc.connector.network.translators.Registry;
 import org.geysermc.connector.network.translators.block.BlockTranslator;
 import org.geysermc.connector.utils.ChunkUtils;
 import org.geysermc.connector.utils.LocaleUtils;
 import org.geysermc.connector.utils.Toolbox;
+import org.geysermc.connector.world.map.MapCanvasStore;
 import org.geysermc.floodgate.util.BedrockData;
 import org.geysermc.floodgate.util.EncryptionUtil;
 
+import java.io.File;
 import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.security.NoSuchAlgorithmException;
 import java.security.PublicKey;
 import java.security.spec.InvalidKeySpecException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
 import java.util.UUID;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -83,6 +88,9 @@ public class GeyserSession implements CommandSender {
 
     private final GeyserConnector connector;
     private final UpstreamSession upstream;
+    private final PlayerListUpdater playerListUpdater;
+    private final ChunkViewManager chunkViewManager;
+    private final EntityVisibilityManager entityVisibilityManager;
     private RemoteServer remoteServer;
     private Client downstream;
     @Setter private AuthData authData;
@@ -99,8 +107,8 @@ public class GeyserSession implements CommandSender {
 
     private DataCache<Packet> javaPacketCache;
 
-    @Setter
-    private Vector2i lastChunkPosition = null;
+    private final MapCanvasStore mapCanvasStore = new MapCanvasStore();
+
     private int renderDistance;
 
     private boolean loggedIn;
@@ -125,9 +133,35 @@ public class GeyserSession implements CommandSender {
     private boolean manyDimPackets = false;
     private ServerRespawnPacket lastDimPacket = null;
 
+    private static final String CAPTURE_FOLDER = "captures";
+    @Getter(AccessLevel.NONE)
+    private volatile PacketCaptureWriter packetCapture;
+
+    /**
+     * The amount of packets received from the Java server
+     */
+    private volatile long downstreamPacketsReceived = 0;
+
+    /**
+     * Runs every translation of this session one at a time, null if packets are translated on the network threads
+     */
+    @Getter(AccessLevel.NONE)
+    private final SessionExecutor executor;
+
     public GeyserSession(GeyserConnector connector, BedrockServerSession bedrockServerSession) {
+        this(connector, new UpstreamSession(bedrockServerSession, connector.getConfig().getMaxUpstreamBatchSize(),
+                connector.getBatchCompressor(), connector.getGeneralThreadPool()));
+    }
+
+    /**
+     * Creates a session that sends to the given upstream session, which doesn't have to be backed by a Bedrock client
+     */
+    protected GeyserSession(GeyserConnector connector, UpstreamSession upstream) {
         this.connector = connector;
-        this.upstream = new UpstreamSession(bedrockServerSession);
+        this.upstream = upstream;
+        this.playerListUpdater = new PlayerListUpdater(this);
+        this.chunkViewManager = new ChunkViewManager(this);
+        this.entityVisibilityManager = new EntityVisibilityManager(this, connector.getConfig().getEntityViewDistance(), connector.getConfig().getMaxVisibleEntitiesPerType());
 
         this.chunkCache = new ChunkCache(this);
         this.entityCache = new EntityCache(this);
@@ -135,6 +169,8 @@ public class GeyserSession implements CommandSender {
         this.scoreboardCache = new ScoreboardCache(this);
         this.windowCache = new WindowCache(this);
 
+        this.executor = connector.getSessionThreadPool() != null ? new SessionExecutor(connector.getSessionThreadPool()) : null;
+
         this.playerEntity = new PlayerEntity(new GameProfile(UUID.randomUUID(), "unknown"), 1, 1, Vector3f.ZERO, Vector3f.ZERO, Vector3f.ZERO);
         this.inventory = new PlayerInventory();
 
@@ -188,8 +224,8 @@ public class GeyserSession implements CommandSender {
         }
 
         loggingIn = true;
-        // new thread so clients don't timeout
-        new Thread(() -> {
+        // on the login threads so clients don't timeout
+        connector.getLoginThreadPool().execute(() -> {
             try {
                 MinecraftProtocol protocol;
                 if (password != null && !password.isEmpty()) {
@@ -256,6 +292,11 @@ public class GeyserSession implements CommandSender {
                         connector.getLogger().info(authData.getName() + " (logged in as: " + protocol.getProfile().getName() + ")" + " has connected to remote java server on address " + remoteServer.getAddress());
                         playerEntity.setUuid(protocol.getProfile().getId());
                         playerEntity.setUsername(protocol.getProfile().getName());
+                        connector.getSessionManager().addJavaPlayer(GeyserSession.this);
+
+                        if (connector.getConfig().isCaptureDownstreamPackets()) {
+                            startPacketCapture();
+                        }
 
                         String locale = clientData.getLanguageCode();
 
@@ -274,6 +315,7 @@ public class GeyserSession implements CommandSender {
                         loggingIn = false;
                         loggedIn = false;
                         connector.getLogger().info(authData.getName() + " has disconnected from remote java server on address " + remoteServer.getAddress() + " because of " + event.getReason());
+                        stopPacketCapture();
                         if (event.getCause() != null) {
                             event.getCause().printStackTrace();
                         }
@@ -282,19 +324,8 @@ public class GeyserSession implements CommandSender {
 
                     @Override
                     public void packetReceived(PacketReceivedEvent event) {
-                        if (!closed) {
-                            //handle consecutive respawn packets
-                            if (event.getPacket().getClass().equals(ServerRespawnPacket.class)) {
-                                manyDimPackets = lastDimPacket != null;
-                                lastDimPacket = event.getPacket();
-                                return;
-                            } else if (lastDimPacket != null) {
-                                Registry.JAVA.translate(lastDimPacket.getClass(), lastDimPacket, GeyserSession.this);
-                                lastDimPacket = null;
-                            }
-
-                            Registry.JAVA.translate(event.getPacket().getClass(), event.getPacket(), GeyserSession.this);
-                        }
+                        Packet packet = event.getPacket();
+                        execute(() -> handleDownstreamPacket(packet));
                     }
                 });
 
@@ -306,7 +337,107 @@ public class GeyserSession implements CommandSender {
             } catch (RequestException ex) {
                 ex.printStackTrace();
             }
-        }).start();
+        });
+    }
+
+    /**
+     * Translates a packet received from the Java server
+     *
+     * @param packet the packet to translate
+     */
+    public void handleDownstreamPacket(Packet packet) {
+        if (closed)
+            return;
+
+        downstreamPacketsReceived++;
+
+        PacketCaptureWriter capture = packetCapture;
+        if (capture != null) {
+            try {
+                capture.write(packet);
+            } catch (IOException e) {
+                connector.getLogger().error("Failed to capture " + packet.getClass().getSimpleName() + ", stopping the capture", e);
+                stopPacketCapture();
+            }
+        }
+
+        //handle consecutive respawn packets
+        if (packet.getClass().equals(ServerRespawnPacket.class)) {
+            manyDimPackets = lastDimPacket != null;
+            lastDimPacket = (ServerRespawnPacket) packet;
+            return;
+        }
+
+        // Everything sent while translating this packet goes out in one batch
+        upstream.startBatch();
+        try {
+            if (lastDimPacket != null) {
+                Registry.JAVA.translate(lastDimPacket.getClass(), lastDimPacket, this);
+                lastDimPacket = null;
+            }
+
+            Registry.JAVA.translate(packet.getClass(), packet, this);
+        } finally {
+            upstream.endBatch();
+        }
+    }
+
+    /**
+     * Runs a task on the serial executor of this session, or right away if sessions aren't single threaded.
+     * Work done on other threads hands its results back through this before touching the session state.
+     *
+     * @param task the task to run
+     */
+    public void execute(Runnable task) {
+        if (executor == null) {
+            task.run();
+            return;
+        }
+        executor.execute(task);
+    }
+
+    /**
+     * @return true if everything of this session is translated on its own serial executor
+     */
+    public boolean isSingleThreaded() {
+        return executor != null;
+    }
+
+    /**
+     * @return the amount of tasks waiting on the serial executor of this session
+     */
+    public int getQueuedTasks() {
+        return executor == null ? 0 : executor.getQueuedTasks();
+    }
+
+    private void startPacketCapture() {
+        File captureFolder = new File(CAPTURE_FOLDER);
+        if (!captureFolder.exists() && !captureFolder.mkdirs()) {
+            connector.getLogger().error("Failed to create the packet capture folder " + captureFolder.getAbsolutePath());
+            return;
+        }
+
+        String timestamp = new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date());
+        File captureFile = new File(captureFolder, playerEntity.getUsername() + "-" + timestamp + ".gcap");
+        try {
+            packetCapture = new PacketCaptureWriter(captureFile);
+            connector.getLogger().info("Capturing the packets sent to " + playerEntity.getUsername() + " in " + captureFile.getPath());
+        } catch (IOException e) {
+            connector.getLogger().error("Failed to start the packet capture for " + playerEntity.getUsername(), e);
+        }
+    }
+
+    private void stopPacketCapture() {
+        PacketCaptureWriter capture = packetCapture;
+        if (capture == null)
+            return;
+
+        packetCapture = null;
+        try {
+            capture.close();
+        } catch (IOException e) {
+            connector.getLogger().error("Failed to finish the packet capture for " + playerEntity.getUsername(), e);
+        }
     }
 
     public void disconnect(String reason) {
@@ -321,6 +452,7 @@ public class GeyserSession implements CommandSender {
         }
 
         closed = true;
+        stopPacketCapture();
     }
 
     public void close() {
@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2019-2020 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.connector.network.session;
+
+import com.nukkitx.math.vector.Vector3f;
+import com.nukkitx.protocol.bedrock.packet.PlayerListPacket;
+import lombok.AllArgsConstructor;
+import lombok.RequiredArgsConstructor;
+import org.geysermc.connector.GeyserConnector;
+import org.geysermc.connector.entity.PlayerEntity;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collects player list entries whose skin changed and sends them to the
+ * client in combined packets instead of a remove and add pair per player.
+ * Players closest to the viewer are sent first.
+ */
+@RequiredArgsConstructor
+public class PlayerListUpdater {
+
+    /**
+     * How long skin updates are collected before they are sent, in milliseconds
+     */
+    public static final long FLUSH_DELAY = 100;
+
+    /**
+     * The maximum amount of entries sent at once, the rest waits for the next flush
+     */
+    public static final int MAX_ENTRIES_PER_FLUSH = 32;
+
+    private final GeyserSession session;
+
+    private final List<PendingUpdate> pendingUpdates = new ArrayList<>();
+    private ScheduledFuture<?> flushTask;
+
+    /**
+     * Queues an updated player list entry
+     *
+     * @param entity the player the entry belongs to
+     * @param entry the entry containing the new skin
+     * @param callback run once the entry was sent, may be null
+     */
+    public synchronized void queueUpdate(PlayerEntity entity, PlayerListPacket.Entry entry, Runnable callback) {
+        for (PendingUpdate update : pendingUpdates) {
+            if (update.entity == entity) {
+                // Only the newest skin matters, but every callback still has to run
+                update.entry = entry;
+                if (callback != null) {
+                    update.callbacks.add(callback);
+                }
+                return;
+            }
+        }
+
+        PendingUpdate update = new PendingUpdate(entity, entry, new ArrayList<>(1));
+        if (callback != null) {
+            update.callbacks.add(callback);
+        }
+        pendingUpdates.add(update);
+        scheduleFlush();
+    }
+
+    /**
+     * Sends the queued entries closest to the player
+     */
+    public void flush() {
+        List<PendingUpdate> updates;
+        synchronized (this) {
+            flushTask = null;
+            if (pendingUpdates.isEmpty())
+                return;
+
+            if (session.isClosed()) {
+                pendingUpdates.clear();
+                return;
+            }
+
+            Vector3f viewerPosition = session.getPlayerEntity().getPosition();
+            pendingUpdates.sort(Comparator.comparingDouble(update -> update.entity.getPosition().distanceSquared(viewerPosition)));
+
+            List<PendingUpdate> nearest = pendingUpdates.subList(0, Math.min(pendingUpdates.size(), MAX_ENTRIES_PER_FLUSH));
+            updates = new ArrayList<>(nearest);
+            nearest.clear();
+
+            if (!pendingUpdates.isEmpty()) {
+                scheduleFlush();
+            }
+        }
+
+        PlayerListPacket playerRemovePacket = new PlayerListPacket();
+        playerRemovePacket.setAction(PlayerListPacket.Action.REMOVE);
+        PlayerListPacket playerAddPacket = new PlayerListPacket();
+        playerAddPacket.setAction(PlayerListPacket.Action.ADD);
+        for (PendingUpdate update : updates) {
+            playerRemovePacket.getEntries().add(update.entry);
+            playerAddPacket.getEntries().add(update.entry);
+        }
+
+        session.getUpstream().startBatch();
+        try {
+            session.getUpstream().sendPacket(playerRemovePacket);
+            session.getUpstream().sendPacket(playerAddPacket);
+
+            for (PendingUpdate update : updates) {
+                for (Runnable callback : update.callbacks) {
+                    try {
+                        callback.run();
+                    } catch (Exception e) {
+                        GeyserConnector.getInstance().getLogger().error("Failed to handle skin update for " + update.entity.getUuid(), e);
+                    }
+                }
+            }
+        } finally {
+            session.getUpstream().endBatch();
+        }
+    }
+
+    private void scheduleFlush() {
+        if (flushTask == null) {
+            flushTask = GeyserConnector.getInstance().getGeneralThreadPool().schedule(() -> session.execute(this::flush), FLUSH_DELAY, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @AllArgsConstructor
+    private static class PendingUpdate {
+        private final PlayerEntity entity;
+        private PlayerListPacket.Entry entry;
+        private final List<Runnable> callbacks;
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2019-2020 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.connector.network.session;
+
+import org.geysermc.connector.GeyserConnector;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the tasks of a single session one at a time and in the order they were submitted,
+ * borrowing a thread of a shared pool only while there are tasks queued. Everything run on
+ * it sees the session state as if it was running on one thread, while the sessions of the
+ * server are spread over every thread of the pool.
+ */
+public class SessionExecutor implements Executor {
+
+    /**
+     * How many tasks are run before the thread is handed back to the pool, so a busy session can't starve other sessions
+     */
+    private static final int MAX_TASKS_PER_RUN = 64;
+
+    private final Executor pool;
+    private final Queue<Runnable> mailbox = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queuedTasks = new AtomicInteger();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    public SessionExecutor(Executor pool) {
+        this.pool = pool;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        mailbox.add(task);
+        queuedTasks.incrementAndGet();
+        schedule();
+    }
+
+    /**
+     * @return the amount of tasks waiting to be run
+     */
+    public int getQueuedTasks() {
+        return queuedTasks.get();
+    }
+
+    private void schedule() {
+        if (scheduled.compareAndSet(false, true)) {
+            pool.execute(this::run);
+        }
+    }
+
+    private void run() {
+        try {
+            for (int i = 0; i < MAX_TASKS_PER_RUN; i++) {
+                Runnable task = mailbox.poll();
+                if (task == null)
+                    break;
+
+                queuedTasks.decrementAndGet();
+                try {
+                    task.run();
+                } catch (Throwable t) {
+                    GeyserConnector.getInstance().getLogger().error("Failed to run a session task", t);
+                }
+            }
+        } finally {
+            scheduled.set(false);
+        }
+
+        // Tasks added after the last poll, or left over after the limit, need another run
+        if (!mailbox.isEmpty()) {
+            schedule();
+        }
+    }
+}
@@ -0,0 +1,217 @@
+/*
+ * Copyright (c) 2019-2020 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.connector.network.session;
+
+import java.net.InetSocketAddress;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Keeps track of every logged in {@link GeyserSession}.
+ *
+ * Sessions are added from login threads and removed from the Bedrock disconnect handler while
+ * other threads read from it, so all lookups are backed by concurrent maps.
+ */
+public class SessionManager {
+
+    private final Map<InetSocketAddress, GeyserSession> sessions = new ConcurrentHashMap<>();
+    private final Map<UUID, GeyserSession> sessionsByUuid = new ConcurrentHashMap<>();
+    private final Map<String, GeyserSession> sessionsByXuid = new ConcurrentHashMap<>();
+    private final Map<String, GeyserSession> sessionsByJavaName = new ConcurrentHashMap<>();
+
+    private final List<SessionListener> listeners = new CopyOnWriteArrayList<>();
+    private final Queue<CompletableFuture<Void>> emptyFutures = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Adds a session that is connecting to the Java server. It can only be looked up by its
+     * Java UUID and username once {@link #addJavaPlayer(GeyserSession)} is called on login.
+     *
+     * @param session the session to add
+     */
+    public void addSession(GeyserSession session) {
+        sessions.put(session.getSocketAddress(), session);
+
+        if (session.getAuthData() != null && session.getAuthData().getXboxUUID() != null) {
+            sessionsByXuid.put(session.getAuthData().getXboxUUID(), session);
+        }
+
+        for (SessionListener listener : listeners) {
+            listener.onSessionAdded(session);
+        }
+    }
+
+    /**
+     * Indexes a session by the Java UUID and username of its player, which are only
+     * known once the session has logged in to the Java server
+     *
+     * @param session the session that logged in
+     */
+    public void addJavaPlayer(GeyserSession session) {
+        UUID uuid = session.getPlayerEntity().getUuid();
+        String username = session.getPlayerEntity().getUsername();
+        if (uuid != null) {
+            sessionsByUuid.put(uuid, session);
+        }
+        if (username != null) {
+            sessionsByJavaName.put(username.toLowerCase(Locale.ROOT), session);
+        }
+
+        // The session may have been removed while it was logging in
+        if (sessions.get(session.getSocketAddress()) != session) {
+            if (uuid != null) {
+                sessionsByUuid.remove(uuid, session);
+            }
+            if (username != null) {
+                sessionsByJavaName.remove(username.toLowerCase(Locale.ROOT), session);
+            }
+        }
+    }
+
+    public void removeSession(GeyserSession session) {
+        if (!sessions.remove(session.getSocketAddress(), session)) {
+            return;
+        }
+
+        if (session.getPlayerEntity().getUuid() != null) {
+            sessionsByUuid.remove(session.getPlayerEntity().getUuid(), session);
+        }
+        if (session.getPlayerEntity().getUsername() != null) {
+            sessionsByJavaName.remove(session.getPlayerEntity().getUsername().toLowerCase(Locale.ROOT), session);
+        }
+        if (session.getAuthData() != null && session.getAuthData().getXboxUUID() != null) {
+            sessionsByXuid.remove(session.getAuthData().getXboxUUID(), session);
+        }
+
+        for (SessionListener listener : listeners) {
+            listener.onSessionRemoved(session);
+        }
+
+        if (sessions.isEmpty()) {
+            CompletableFuture<Void> future;
+            while ((future = emptyFutures.poll()) != null) {
+                future.complete(null);
+            }
+        }
+    }
+
+    public GeyserSession getSession(InetSocketAddress address) {
+        return sessions.get(address);
+    }
+
+    /**
+     * Gets a session by the UUID of its Java player
+     *
+     * @param uuid the Java UUID of the player
+     * @return the session, or null if no such player is connected
+     */
+    public GeyserSession getSessionByUuid(UUID uuid) {
+        return sessionsByUuid.get(uuid);
+    }
+
+    /**
+     * Gets a session by the Xbox user ID of its Bedrock player
+     *
+     * @param xuid the XUID of the player
+     * @return the session, or null if no such player is connected
+     */
+    public GeyserSession getSessionByXuid(String xuid) {
+        return sessionsByXuid.get(xuid);
+    }
+
+    /**
+     * Gets a session by the username of its Java player, ignoring case
+     *
+     * @param javaUsername the Java username of the player
+     * @return the session, or null if no such player is connected
+     */
+    public GeyserSession getSessionByJavaName(String javaUsername) {
+        return sessionsByJavaName.get(javaUsername.toLowerCase(Locale.ROOT));
+    }
+
+    public Collection<GeyserSession> getSessions() {
+        return Collections.unmodifiableCollection(sessions.values());
+    }
+
+    public int size() {
+        return sessions.size();
+    }
+
+    public boolean isEmpty() {
+        return sessions.isEmpty();
+    }
+
+    public void addListener(SessionListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(SessionListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Returns a future that completes once the last session has been removed,
+     * or right away if there are no sessions
+     *
+     * @return a future completed when no sessions are left
+     */
+    public CompletableFuture<Void> awaitEmpty() {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        emptyFutures.add(future);
+
+        // Sessions may have been removed before the future was queued
+        if (sessions.isEmpty()) {
+            emptyFutures.remove(future);
+            future.complete(null);
+        }
+        return future;
+    }
+
+    public void clear() {
+        sessions.clear();
+        sessionsByUuid.clear();
+        sessionsByXuid.clear();
+        sessionsByJavaName.clear();
+    }
+
+    /**
+     * Listens for sessions being added to or removed from the {@link SessionManager}
+     */
+    public interface SessionListener {
+
+        void onSessionAdded(GeyserSession session);
+
+        void onSessionRemoved(GeyserSession session);
+    }
+}
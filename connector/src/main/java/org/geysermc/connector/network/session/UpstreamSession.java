@@ -26,32 +26,268 @@
 package org.geysermc.connector.network.session;
 
 import com.nukkitx.protocol.bedrock.BedrockPacket;
+import com.nukkitx.protocol.bedrock.BedrockPacketCodec;
 import com.nukkitx.protocol.bedrock.BedrockServerSession;
+import io.netty.buffer.ByteBuf;
 import lombok.Getter;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 
 import java.net.InetSocketAddress;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 @RequiredArgsConstructor
 public class UpstreamSession {
+    /**
+     * How long packets sent outside a batch may wait for a batch to join before they are sent on their own
+     */
+    private static final long PENDING_FLUSH_DELAY = 10;
+
     @Getter private final BedrockServerSession session;
     @Getter @Setter
     private boolean initialized = false;
 
+    /**
+     * The maximum amount of packets to hold before a batch is sent early
+     */
+    private final int maxBatchSize;
+
+    private final BatchCompressor compressor;
+
+    /**
+     * Flushes the packets sent outside a batch if no batch picks them up in time
+     */
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * The open batch of every thread. Packets sent from another thread, such as the chunk or skin
+     * threads, never end up in a batch that thread didn't open.
+     */
+    private final ThreadLocal<Batch> batches = ThreadLocal.withInitial(Batch::new);
+
+    /**
+     * Packets sent outside a batch, which are sent with the next batch that ends. Guarded by this session.
+     */
+    private final List<BedrockPacket> pendingPackets = new ArrayList<>();
+    private boolean pendingFlushScheduled = false;
+
+    /**
+     * Batches in the order they were started, waiting for their compression or the batches before them.
+     * Guarded by this session.
+     */
+    private final Queue<Write> writes = new ArrayDeque<>();
+
+    @Getter
+    private long batchesSent = 0;
+    @Getter
+    private long batchedPacketsSent = 0;
+    @Getter
+    private long uncompressedBytesSent = 0;
+    @Getter
+    private long compressedBytesSent = 0;
+
+    /**
+     * Sends a packet to the client. While the current thread has a batch open the packet
+     * is held back and sent together with the rest of the batch once it is closed.
+     * Other packets wait shortly for the next batch of any thread, so packets sent from
+     * background threads don't each become a batch of their own.
+     *
+     * @param packet the packet to send
+     */
     public void sendPacket(@NonNull BedrockPacket packet) {
         if (isClosed())
             return;
 
-        session.sendPacket(packet);
+        Batch batch = batches.get();
+        if (batch.depth > 0) {
+            batch.packets.add(packet);
+            if (batch.packets.size() >= maxBatchSize) {
+                flushBatch(batch);
+            }
+            return;
+        }
+
+        Write write = null;
+        List<BedrockPacket> packets = null;
+        synchronized (this) {
+            pendingPackets.add(packet);
+            if (pendingPackets.size() >= maxBatchSize) {
+                packets = new ArrayList<>(pendingPackets);
+                pendingPackets.clear();
+                write = startWrite();
+            } else if (!pendingFlushScheduled) {
+                pendingFlushScheduled = true;
+                scheduler.schedule(this::flushPendingPackets, PENDING_FLUSH_DELAY, TimeUnit.MILLISECONDS);
+            }
+        }
+        if (write != null) {
+            sendBatch(write, packets);
+        }
     }
 
     public void sendPacketImmediately(@NonNull BedrockPacket packet) {
         if (isClosed())
             return;
 
-        session.sendPacketImmediately(packet);
+        // Anything already batched has to go out first to keep packets in order
+        flushBatch(batches.get());
+        synchronized (this) {
+            if (writes.isEmpty()) {
+                session.sendPacketImmediately(packet);
+            } else {
+                Write write = startWrite();
+                write.immediatePacket = packet;
+                write.done = true;
+            }
+        }
+    }
+
+    /**
+     * Opens a batch for the current thread. Every packet the thread sends until the matching
+     * {@link #endBatch()} is compressed and sent to the client as a single batch. Batches may be
+     * nested, in which case the packets are sent when the outermost batch ends.
+     */
+    public void startBatch() {
+        batches.get().depth++;
+    }
+
+    /**
+     * Closes a batch opened with {@link #startBatch()}, sending the held back packets
+     * if this was the outermost batch.
+     */
+    public void endBatch() {
+        Batch batch = batches.get();
+        if (batch.depth > 0 && --batch.depth == 0) {
+            flushBatch(batch);
+        }
+    }
+
+    /**
+     * Sends the packets of a batch, together with the pending packets sent before them
+     */
+    private void flushBatch(Batch batch) {
+        Write write;
+        List<BedrockPacket> packets;
+        synchronized (this) {
+            if (batch.packets.isEmpty() && pendingPackets.isEmpty())
+                return;
+
+            packets = new ArrayList<>(pendingPackets.size() + batch.packets.size());
+            packets.addAll(pendingPackets);
+            packets.addAll(batch.packets);
+            pendingPackets.clear();
+            write = startWrite();
+        }
+        batch.packets.clear();
+        sendBatch(write, packets);
+    }
+
+    private void flushPendingPackets() {
+        Write write;
+        List<BedrockPacket> packets;
+        synchronized (this) {
+            pendingFlushScheduled = false;
+            if (pendingPackets.isEmpty())
+                return;
+
+            packets = new ArrayList<>(pendingPackets);
+            pendingPackets.clear();
+            write = startWrite();
+        }
+        sendBatch(write, packets);
+    }
+
+    /**
+     * Reserves the place of a batch in the write order. Must be called while holding the lock of this session.
+     */
+    private Write startWrite() {
+        Write write = new Write();
+        writes.add(write);
+        return write;
+    }
+
+    /**
+     * Serializes and compresses packets as one batch outside of the lock, then writes every
+     * finished batch whose predecessors are written, so batches reach the client in the order
+     * their places were reserved.
+     *
+     * @param write the place of the batch in the write order
+     * @param packets the packets to send
+     */
+    private void sendBatch(Write write, List<BedrockPacket> packets) {
+        ByteBuf uncompressed = null;
+        ByteBuf compressed = null;
+        int uncompressedBytes = 0;
+        try {
+            if (!isClosed()) {
+                uncompressed = compressor.serialize(getPacketCodec(), packets);
+                uncompressedBytes = uncompressed.readableBytes();
+                compressed = compressor.compress(uncompressed);
+            }
+        } finally {
+            if (uncompressed != null) {
+                uncompressed.release();
+            }
+
+            synchronized (this) {
+                write.compressed = compressed;
+                write.done = true;
+                if (compressed != null) {
+                    batchesSent++;
+                    batchedPacketsSent += packets.size();
+                    uncompressedBytesSent += uncompressedBytes;
+                    compressedBytesSent += compressed.readableBytes();
+                }
+                writeFinishedBatches();
+            }
+        }
+    }
+
+    /**
+     * Must be called while holding the lock of this session
+     */
+    private void writeFinishedBatches() {
+        Write write;
+        while ((write = writes.peek()) != null && write.done) {
+            writes.poll();
+            if (write.immediatePacket != null) {
+                session.sendPacketImmediately(write.immediatePacket);
+            } else if (write.compressed != null) {
+                try {
+                    if (!isClosed()) {
+                        sendWrapped(write.compressed);
+                    }
+                } finally {
+                    write.compressed.release();
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes a compressed batch to the client
+     *
+     * @param compressed the compressed batch, which is released by the caller
+     */
+    protected void sendWrapped(ByteBuf compressed) {
+        session.sendWrapped(compressed, true);
+    }
+
+    protected BedrockPacketCodec getPacketCodec() {
+        return session.getPacketCodec();
+    }
+
+    /**
+     * @return the average amount of packets sent in each batch
+     */
+    public synchronized double getAveragePacketsPerBatch() {
+        return batchesSent == 0 ? 0 : (double) batchedPacketsSent / batchesSent;
     }
 
     public void disconnect(String reason) {
@@ -65,4 +301,15 @@ public class UpstreamSession {
     public InetSocketAddress getAddress() {
         return session.getAddress();
     }
+
+    private static class Write {
+        private ByteBuf compressed;
+        private BedrockPacket immediatePacket;
+        private boolean done;
+    }
+
+    private static class Batch {
+        private final List<BedrockPacket> packets = new ArrayList<>();
+        private int depth;
+    }
 }
@@ -29,11 +29,11 @@ import com.github.steveice10.mc.protocol.data.game.chunk.Chunk;
 import com.github.steveice10.mc.protocol.data.game.chunk.Column;
 import com.github.steveice10.mc.protocol.data.game.entity.metadata.Position;
 import com.github.steveice10.mc.protocol.data.game.world.block.BlockState;
-import com.nukkitx.protocol.bedrock.packet.LevelChunkPacket;
 import lombok.Getter;
+import org.geysermc.connector.network.session.ChunkViewManager;
 import org.geysermc.connector.network.session.GeyserSession;
-import org.geysermc.connector.network.translators.Translators;
 import org.geysermc.connector.network.translators.block.BlockTranslator;
+import org.geysermc.connector.utils.ChunkUtils;
 import org.geysermc.connector.world.chunk.ChunkPosition;
 
 import java.util.HashMap;
@@ -86,7 +86,13 @@ public class ChunkCache {
 
     public void removeChunk(ChunkPosition position) {
         chunks.remove(position);
-        sendEmptyChunk(position, true);
+
+        // Chunks the client never received or already dropped by itself don't have to be cleared
+        ChunkViewManager chunkViewManager = session.getChunkViewManager();
+        if (chunkViewManager.isLoaded(position.getX(), position.getZ())) {
+            sendEmptyChunk(position, true);
+            chunkViewManager.markUnloaded(position.getX(), position.getZ());
+        }
     }
 
     public void sendEmptyChunk(ChunkPosition position) {
@@ -97,12 +103,6 @@ public class ChunkCache {
         if (!force && chunks.containsKey(position))
             return;
 
-        LevelChunkPacket levelChunkPacket = new LevelChunkPacket();
-        levelChunkPacket.setChunkX(position.getX());
-        levelChunkPacket.setChunkZ(position.getZ());
-        levelChunkPacket.setCachingEnabled(false);
-        levelChunkPacket.setSubChunksLength(0);
-        levelChunkPacket.setData(Translators.EMPTY_LEVEL_CHUNK_DATA);
-        session.getUpstream().sendPacket(levelChunkPacket);
+        session.getUpstream().sendPacket(ChunkUtils.createEmptyChunkPacket(position.getX(), position.getZ()));
     }
 }
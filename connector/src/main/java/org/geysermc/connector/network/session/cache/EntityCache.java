@@ -25,115 +25,264 @@
 
 package org.geysermc.connector.network.session.cache;
 
-import it.unimi.dsi.fastutil.longs.*;
+import com.nukkitx.math.vector.Vector3f;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
 import it.unimi.dsi.fastutil.objects.Object2LongMap;
 import it.unimi.dsi.fastutil.objects.Object2LongOpenHashMap;
-import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectMap;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
 import lombok.Getter;
 import org.geysermc.connector.entity.Entity;
 import org.geysermc.connector.entity.PlayerEntity;
+import org.geysermc.connector.entity.type.EntityFactory;
+import org.geysermc.connector.entity.type.EntityType;
 import org.geysermc.connector.network.session.GeyserSession;
 
 import java.util.*;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 
 /**
  * Each session has its own EntityCache in the occasion that an entity packet is sent specifically
  * for that player (e.g. seeing vanished players from /vanish)
+ *
+ * All state is guarded by the cache itself, so lookups only ever take a single lock.
  */
 public class EntityCache {
+
+    /**
+     * How many removed entities of a pooled type are kept to be reused
+     */
+    private static final int MAX_POOLED_ENTITIES = 64;
+
     private GeyserSession session;
 
-    @Getter
-    private Long2ObjectMap<Entity> entities = Long2ObjectMaps.synchronize(new Long2ObjectOpenHashMap<>());
-    private Long2LongMap entityIdTranslations = Long2LongMaps.synchronize(new Long2LongOpenHashMap());
-    private Map<UUID, PlayerEntity> playerEntities = Collections.synchronizedMap(new HashMap<>());
-    private Object2LongMap<UUID> bossbars = new Object2LongOpenHashMap<>();
+    private final Long2ObjectMap<Entity> entities = new Long2ObjectOpenHashMap<>();
+    private final Long2ObjectMap<Entity> javaEntities = new Long2ObjectOpenHashMap<>();
+    private final Map<UUID, PlayerEntity> playerEntities = new HashMap<>();
+    private final Object2LongMap<UUID> bossbars = new Object2LongOpenHashMap<>();
+
+    /**
+     * Entities grouped by their class, so looking up entities of a type doesn't need to check every entity
+     */
+    private final Reference2ObjectMap<Class<?>, ReferenceOpenHashSet<Entity>> entitiesByClass = new Reference2ObjectOpenHashMap<>();
+    private final List<Class<?>> entityClasses = new ArrayList<>();
+    private final List<ReferenceOpenHashSet<Entity>> entityBuckets = new ArrayList<>();
+
+    /**
+     * Removed entities of short lived types, such as item drops and experience orbs, that can be reused
+     */
+    private final Map<EntityType, Deque<Entity>> entityPool = new EnumMap<>(EntityType.class);
 
     @Getter
     private AtomicLong nextEntityId = new AtomicLong(2L);
 
     public EntityCache(GeyserSession session) {
         this.session = session;
+        this.bossbars.defaultReturnValue(-1);
+        this.entityPool.put(EntityType.ITEM, new ArrayDeque<>());
+        this.entityPool.put(EntityType.EXPERIENCE_ORB, new ArrayDeque<>());
+    }
+
+    /**
+     * Creates an entity through the factory of its type, reusing a removed entity if the type is pooled
+     *
+     * @param entityType the type of the entity
+     * @param javaId the Java entity id
+     * @param position the position of the entity
+     * @param motion the motion of the entity
+     * @param rotation the rotation of the entity
+     * @return the entity, or null if the type has no factory
+     */
+    public Entity createEntity(EntityType entityType, long javaId, Vector3f position, Vector3f motion, Vector3f rotation) {
+        EntityFactory<? extends Entity> factory = entityType.getFactory();
+        if (factory == null)
+            return null;
+
+        long geyserId = nextEntityId.incrementAndGet();
+        Deque<Entity> pool = entityPool.get(entityType);
+        if (pool != null) {
+            Entity entity;
+            synchronized (this) {
+                entity = pool.poll();
+            }
+            if (entity != null) {
+                entity.reset(javaId, geyserId, position, motion, rotation);
+                return entity;
+            }
+        }
+        return factory.create(javaId, geyserId, entityType, position, motion, rotation);
     }
 
     public void spawnEntity(Entity entity) {
         cacheEntity(entity);
-        entity.spawnEntity(session);
+        session.getEntityVisibilityManager().spawnEntity(entity);
     }
 
-    public void cacheEntity(Entity entity) {
-        entityIdTranslations.put(entity.getEntityId(), entity.getGeyserId());
-        entities.put(entity.getGeyserId(), entity);
+    public synchronized void cacheEntity(Entity entity) {
+        Entity previous = entities.put(entity.getGeyserId(), entity);
+        if (previous != null) {
+            removeFromBucket(previous);
+            javaEntities.remove(previous.getEntityId());
+        }
+        javaEntities.put(entity.getEntityId(), entity);
+        getBucket(entity.getClass()).add(entity);
     }
 
     public boolean removeEntity(Entity entity, boolean force) {
-        if (entity != null && entity.isValid() && (force || entity.despawnEntity(session))) {
-            long geyserId = entityIdTranslations.remove(entity.getEntityId());
-            entities.remove(geyserId);
-            if (entity.is(PlayerEntity.class)) {
-                playerEntities.remove(entity.as(PlayerEntity.class).getUuid());
+        if (entity == null)
+            return false;
+
+        // Entities hidden by the visibility manager aren't valid but still have to be removed
+        boolean hidden = !entity.isValid() && session.getEntityVisibilityManager().isEnabled() && getEntityByGeyserId(entity.getGeyserId()) == entity;
+        if ((entity.isValid() || hidden) && (force || entity.despawnEntity(session))) {
+            boolean cached;
+            synchronized (this) {
+                cached = entities.remove(entity.getGeyserId()) != null;
+                if (cached) {
+                    removeFromBucket(entity);
+                }
+                if (javaEntities.get(entity.getEntityId()) == entity) {
+                    javaEntities.remove(entity.getEntityId());
+                }
+                if (entity.is(PlayerEntity.class)) {
+                    playerEntities.remove(entity.as(PlayerEntity.class).getUuid());
+                }
+            }
+
+            if (cached) {
+                session.getEntityVisibilityManager().removeEntity(entity);
+                recycleEntity(entity);
             }
             return true;
         }
         return false;
     }
 
+    /**
+     * Keeps a removed entity to be reused if its type is pooled and the pool isn't full
+     *
+     * @param entity the entity that was removed
+     */
+    private synchronized void recycleEntity(Entity entity) {
+        Deque<Entity> pool = entityPool.get(entity.getEntityType());
+        if (pool != null && pool.size() < MAX_POOLED_ENTITIES) {
+            pool.push(entity);
+        }
+    }
+
     public void removeAllEntities() {
-        List<Entity> entities = new ArrayList<>(session.getEntityCache().getEntities().values());
+        List<Entity> entities;
+        synchronized (this) {
+            entities = new ArrayList<>(this.entities.values());
+        }
         for (Entity entity : entities) {
-            session.getEntityCache().removeEntity(entity, false);
+            removeEntity(entity, false);
         }
     }
 
-    public Entity getEntityByGeyserId(long geyserId) {
+    public synchronized Entity getEntityByGeyserId(long geyserId) {
         return entities.get(geyserId);
     }
 
-    public Entity getEntityByJavaId(long javaId) {
-        return entities.get(entityIdTranslations.get(javaId));
+    public synchronized Entity getEntityByJavaId(long javaId) {
+        return javaEntities.get(javaId);
     }
 
-    public <T extends Entity> Set<T> getEntitiesByType(Class<T> entityType) {
-        Set<T> entitiesOfType = new ObjectOpenHashSet<>();
-        for (Entity entity : (entityType == PlayerEntity.class ? playerEntities : entities).values()) {
-            if (entity.is(entityType)) {
-                entitiesOfType.add(entity.as(entityType));
+    /**
+     * Gets a snapshot of every cached entity of the given type
+     *
+     * @param entityType the type of the entities, subclasses included
+     * @return the entities of that type
+     */
+    public synchronized <T extends Entity> List<T> getEntitiesByType(Class<T> entityType) {
+        List<T> entitiesOfType = new ArrayList<>();
+        if (entityType == PlayerEntity.class) {
+            for (PlayerEntity entity : playerEntities.values()) {
+                entitiesOfType.add(entityType.cast(entity));
             }
+            return entitiesOfType;
         }
+
+        forEachEntity(entityType, entitiesOfType::add);
         return entitiesOfType;
     }
 
-    public void addPlayerEntity(PlayerEntity entity) {
+    /**
+     * Runs the consumer for every cached entity of the given type without copying the cache.
+     * The consumer runs while the cache is locked and must not add or remove entities.
+     *
+     * @param entityType the type of the entities, subclasses included
+     * @param consumer the consumer to run for every entity
+     */
+    public synchronized <T extends Entity> void forEachEntity(Class<T> entityType, Consumer<? super T> consumer) {
+        for (int i = 0; i < entityClasses.size(); i++) {
+            if (!entityType.isAssignableFrom(entityClasses.get(i)))
+                continue;
+
+            for (Entity entity : entityBuckets.get(i)) {
+                consumer.accept(entityType.cast(entity));
+            }
+        }
+    }
+
+    public synchronized int getEntityCount() {
+        return entities.size();
+    }
+
+    public synchronized void addPlayerEntity(PlayerEntity entity) {
         playerEntities.put(entity.getUuid(), entity);
     }
 
-    public PlayerEntity getPlayerEntity(UUID uuid) {
+    public synchronized PlayerEntity getPlayerEntity(UUID uuid) {
         return playerEntities.get(uuid);
     }
 
-    public void removePlayerEntity(UUID uuid) {
+    public synchronized void removePlayerEntity(UUID uuid) {
         playerEntities.remove(uuid);
     }
 
-    public long addBossBar(UUID uuid) {
+    public synchronized long addBossBar(UUID uuid) {
         long entityId = getNextEntityId().incrementAndGet();
         bossbars.put(uuid, entityId);
         return entityId;
     }
 
-    public long getBossBar(UUID uuid) {
-        return bossbars.containsKey(uuid) ? bossbars.get(uuid) : -1;
+    public synchronized long getBossBar(UUID uuid) {
+        return bossbars.getLong(uuid);
+    }
+
+    public synchronized long removeBossBar(UUID uuid) {
+        return bossbars.removeLong(uuid);
     }
 
-    public long removeBossBar(UUID uuid) {
-        return bossbars.remove(uuid);
+    public synchronized void clear() {
+        entities.clear();
+        javaEntities.clear();
+        playerEntities.clear();
+        bossbars.clear();
+        entitiesByClass.clear();
+        entityClasses.clear();
+        entityBuckets.clear();
     }
 
-    public void clear() {
-        entities = null;
-        entityIdTranslations = null;
-        playerEntities = null;
-        bossbars = null;
+    private ReferenceOpenHashSet<Entity> getBucket(Class<?> entityClass) {
+        ReferenceOpenHashSet<Entity> bucket = entitiesByClass.get(entityClass);
+        if (bucket == null) {
+            bucket = new ReferenceOpenHashSet<>();
+            entitiesByClass.put(entityClass, bucket);
+            entityClasses.add(entityClass);
+            entityBuckets.add(bucket);
+        }
+        return bucket;
+    }
+
+    private void removeFromBucket(Entity entity) {
+        ReferenceOpenHashSet<Entity> bucket = entitiesByClass.get(entity.getClass());
+        if (bucket != null) {
+            bucket.remove(entity);
+        }
     }
 }
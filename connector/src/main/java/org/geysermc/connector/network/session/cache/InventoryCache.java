@@ -25,19 +25,27 @@
 
 package org.geysermc.connector.network.session.cache;
 
+import com.github.steveice10.mc.protocol.packet.ingame.server.window.ServerWindowItemsPacket;
 import com.github.steveice10.packetlib.packet.Packet;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
 import lombok.Getter;
 import lombok.Setter;
 import org.geysermc.connector.inventory.Inventory;
 import org.geysermc.connector.network.session.GeyserSession;
 
-import java.util.ArrayList;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 public class InventoryCache {
 
+    /**
+     * The maximum amount of window packets buffered per session while windows are waiting to be opened
+     */
+    public static final int MAX_CACHED_PACKETS = 64;
+
     private GeyserSession session;
 
     @Getter
@@ -47,8 +55,8 @@ public class InventoryCache {
     @Getter
     private Map<Integer, Inventory> inventories = new HashMap<Integer, Inventory>();
 
-    @Getter
-    private Map<Integer, List<Packet>> cachedPackets = new HashMap<Integer, List<Packet>>();
+    private Int2ObjectMap<Deque<Packet>> cachedPackets = new Int2ObjectOpenHashMap<>();
+    private int cachedPacketCount;
 
     public InventoryCache(GeyserSession session) {
         this.session = session;
@@ -64,11 +72,93 @@ public class InventoryCache {
 
     public void uncacheInventory(int id) {
         inventories.remove(id);
+        uncachePackets(id);
+    }
+
+    /**
+     * Buffers a window packet until the window it belongs to is open on the client.
+     * A {@link ServerWindowItemsPacket} replaces everything buffered for its window
+     * and the oldest packets are dropped once {@link #MAX_CACHED_PACKETS} is reached.
+     *
+     * @param id the window id
+     * @param packet the packet to buffer
+     */
+    public synchronized void cachePacket(int id, Packet packet) {
+        if (id == 0)
+            return; // The player inventory is always open
+
+        Deque<Packet> packets = cachedPackets.get(id);
+        if (packets == null) {
+            packets = new ArrayDeque<>();
+            cachedPackets.put(id, packets);
+        } else if (packet instanceof ServerWindowItemsPacket) {
+            cachedPacketCount -= packets.size();
+            packets.clear();
+        }
+
+        packets.addLast(packet);
+        cachedPacketCount++;
+
+        while (cachedPacketCount > MAX_CACHED_PACKETS && packets.size() > 1) {
+            packets.pollFirst();
+            cachedPacketCount--;
+        }
+        if (cachedPacketCount > MAX_CACHED_PACKETS) {
+            // The newest window wins over windows that were superseded but never opened
+            for (Int2ObjectMap.Entry<Deque<Packet>> entry : cachedPackets.int2ObjectEntrySet()) {
+                if (entry.getIntKey() != id) {
+                    cachedPacketCount -= entry.getValue().size();
+                    entry.getValue().clear();
+                }
+            }
+            cachedPackets.values().removeIf(Deque::isEmpty);
+        }
+    }
+
+    /**
+     * Removes and returns the packets buffered for a window
+     *
+     * @param id the window id
+     * @return the buffered packets in the order they were received
+     */
+    public synchronized Deque<Packet> takeCachedPackets(int id) {
+        Deque<Packet> packets = cachedPackets.remove(id);
+        if (packets == null)
+            return new ArrayDeque<>();
+
+        cachedPacketCount -= packets.size();
+        return packets;
+    }
+
+    /**
+     * Drops the packets buffered for a window
+     *
+     * @param id the window id
+     */
+    public synchronized void uncachePackets(int id) {
+        Deque<Packet> packets = cachedPackets.remove(id);
+        if (packets != null) {
+            cachedPacketCount -= packets.size();
+        }
+    }
+
+    /**
+     * Drops the packets buffered for every window except the given one,
+     * as Java Edition only ever has a single window open at once
+     *
+     * @param id the window id to keep
+     */
+    public synchronized void uncacheOtherPackets(int id) {
+        Deque<Packet> keep = cachedPackets.remove(id);
+        cachedPackets.clear();
+        cachedPacketCount = 0;
+        if (keep != null) {
+            cachedPackets.put(id, keep);
+            cachedPacketCount = keep.size();
+        }
     }
 
-    public void cachePacket(int id, Packet packet) {
-        List<Packet> packets = cachedPackets.getOrDefault(id, new ArrayList<Packet>());
-        packets.add(packet);
-        cachedPackets.put(id, packets);
+    public synchronized int getCachedPacketCount() {
+        return cachedPacketCount;
     }
 }
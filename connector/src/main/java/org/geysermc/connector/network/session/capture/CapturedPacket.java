@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2019-2020 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.connector.network.session.capture;
+
+import com.github.steveice10.packetlib.io.stream.StreamNetInput;
+import com.github.steveice10.packetlib.packet.Packet;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+
+/**
+ * A packet read from a capture, kept in its network form so it can be
+ * decoded into a new packet as many times as needed.
+ */
+@Getter
+@AllArgsConstructor
+public class CapturedPacket {
+
+    private final Constructor<? extends Packet> constructor;
+
+    /**
+     * The milliseconds between the start of the capture and this packet
+     */
+    private final long time;
+
+    private final byte[] data;
+
+    public Class<? extends Packet> getPacketClass() {
+        return constructor.getDeclaringClass();
+    }
+
+    /**
+     * @return a new packet read from the captured data
+     */
+    public Packet decode() throws IOException {
+        try {
+            Packet packet = constructor.newInstance();
+            packet.read(new StreamNetInput(new ByteArrayInputStream(data)));
+            return packet;
+        } catch (ReflectiveOperationException e) {
+            throw new IOException("Failed to create " + getPacketClass().getName(), e);
+        }
+    }
+}
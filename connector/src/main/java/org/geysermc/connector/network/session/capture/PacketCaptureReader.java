@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2019-2020 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.connector.network.session.capture;
+
+import com.github.steveice10.packetlib.io.NetInput;
+import com.github.steveice10.packetlib.io.stream.StreamNetInput;
+import com.github.steveice10.packetlib.packet.Packet;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Constructor;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Reads a capture written by {@link PacketCaptureWriter}
+ */
+public class PacketCaptureReader implements Closeable {
+
+    private final InputStream stream;
+    private final NetInput in;
+
+    private final List<Constructor<? extends Packet>> constructors = new ArrayList<>();
+    private long time = 0;
+
+    public PacketCaptureReader(File file) throws IOException {
+        this(new FileInputStream(file));
+    }
+
+    public PacketCaptureReader(InputStream stream) throws IOException {
+        DataInputStream header = new DataInputStream(stream);
+        if (header.readInt() != PacketCaptureWriter.MAGIC) {
+            throw new IOException("Not a packet capture");
+        }
+
+        int version = header.readInt();
+        if (version != PacketCaptureWriter.VERSION) {
+            throw new IOException("Unsupported packet capture version " + version);
+        }
+
+        this.stream = new BufferedInputStream(new GZIPInputStream(stream));
+        this.in = new StreamNetInput(this.stream);
+    }
+
+    /**
+     * @return the next packet, or null once the end of the capture is reached
+     */
+    public CapturedPacket next() throws IOException {
+        int classId;
+        try {
+            classId = in.readVarInt();
+        } catch (EOFException e) {
+            return null;
+        }
+
+        if (classId == constructors.size()) {
+            constructors.add(findConstructor(in.readString()));
+        } else if (classId > constructors.size()) {
+            throw new IOException("Invalid packet class index " + classId);
+        }
+
+        time += in.readVarLong();
+        byte[] data = in.readBytes(in.readVarInt());
+        return new CapturedPacket(constructors.get(classId), time, data);
+    }
+
+    /**
+     * Reads every remaining packet
+     *
+     * @return the packets in the order they were received
+     */
+    public List<CapturedPacket> readAll() throws IOException {
+        List<CapturedPacket> packets = new ArrayList<>();
+        CapturedPacket packet;
+        while ((packet = next()) != null) {
+            packets.add(packet);
+        }
+        return packets;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Constructor<? extends Packet> findConstructor(String className) throws IOException {
+        try {
+            Class<?> clazz = Class.forName(className);
+            if (!Packet.class.isAssignableFrom(clazz)) {
+                throw new IOException(className + " is not a packet");
+            }
+
+            Constructor<? extends Packet> constructor = ((Class<? extends Packet>) clazz).getDeclaredConstructor();
+            constructor.setAccessible(true);
+            return constructor;
+        } catch (ClassNotFoundException | NoSuchMethodException e) {
+            throw new IOException("Unknown packet " + className, e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        stream.close();
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2019-2020 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.connector.network.session.capture;
+
+import com.github.steveice10.packetlib.io.NetOutput;
+import com.github.steveice10.packetlib.io.stream.StreamNetOutput;
+import com.github.steveice10.packetlib.packet.Packet;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes the Java packets a session receives to a capture file.
+ *
+ * A capture starts with {@link #MAGIC} and {@link #VERSION}, followed by a gzip
+ * compressed list of packets. Each packet is written as the index of its class,
+ * the milliseconds since the previous packet and the packet in its network form.
+ * The first time a class is seen its name follows the index.
+ */
+public class PacketCaptureWriter implements Closeable {
+
+    public static final int MAGIC = 0x47434150; // GCAP
+    public static final int VERSION = 1;
+
+    private final OutputStream stream;
+    private final NetOutput out;
+
+    private final ByteArrayOutputStream packetBuffer = new ByteArrayOutputStream(512);
+    private final NetOutput packetOut = new StreamNetOutput(packetBuffer);
+
+    private final Object2IntMap<Class<?>> classIds = new Object2IntOpenHashMap<>();
+    private long lastPacketTime;
+    private boolean closed = false;
+
+    public PacketCaptureWriter(File file) throws IOException {
+        this(new FileOutputStream(file));
+    }
+
+    public PacketCaptureWriter(OutputStream stream) throws IOException {
+        DataOutputStream header = new DataOutputStream(stream);
+        header.writeInt(MAGIC);
+        header.writeInt(VERSION);
+        header.flush();
+
+        this.stream = new BufferedOutputStream(new GZIPOutputStream(stream));
+        this.out = new StreamNetOutput(this.stream);
+        this.classIds.defaultReturnValue(-1);
+        this.lastPacketTime = System.currentTimeMillis();
+    }
+
+    /**
+     * Appends a packet to the capture
+     *
+     * @param packet the packet to write
+     */
+    public synchronized void write(Packet packet) throws IOException {
+        if (closed)
+            return;
+
+        packetBuffer.reset();
+        packet.write(packetOut);
+
+        int classId = classIds.getInt(packet.getClass());
+        if (classId == -1) {
+            classId = classIds.size();
+            classIds.put(packet.getClass(), classId);
+            out.writeVarInt(classId);
+            out.writeString(packet.getClass().getName());
+        } else {
+            out.writeVarInt(classId);
+        }
+
+        long now = System.currentTimeMillis();
+        out.writeVarLong(Math.max(0, now - lastPacketTime));
+        lastPacketTime = now;
+
+        out.writeVarInt(packetBuffer.size());
+        packetBuffer.writeTo(stream);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed)
+            return;
+
+        closed = true;
+        stream.close();
+    }
+}
@@ -1,32 +1,32 @@
 package org.geysermc.connector.network.translators;
-import java.util.Arrays;
+import io.netty.buffer.ByteBuf;
 
 //Based off of ProtocolSupport's LegacyBiomeData.java https://github.com/ProtocolSupport/ProtocolSupport/blob/b2cad35977f3fcb65bee57b9e14fc9c975f71d32/src/protocolsupport/protocol/typeremapper/legacy/LegacyBiomeData.java
 //Array index formula by https://wiki.vg/Chunk_Format
 
 public class BiomeTranslator {
 
-    public static byte[] toBedrockBiome(int[] biomeData) {
-        byte[] bedrockData = new byte[256];
-        if(biomeData == null) {
-            return bedrockData;
+    /**
+     * Writes the Bedrock biome data straight into a buffer instead of allocating an array
+     *
+     * @param biomeData the Java biome data, may be null
+     * @param buffer the buffer to write the 256 bytes of biome data to
+     */
+    public static void writeBedrockBiome(int[] biomeData, ByteBuf buffer) {
+        if (biomeData == null) {
+            buffer.writeZero(256);
+            return;
         }
 
-        for (int z = 0; z < 16; z += 4) {
+        for (int z = 0; z < 16; z++) {
             for (int x = 0; x < 16; x += 4) {
                 byte biomeId = biomeID(biomeData, x, z);
-                fillArray(z, x, bedrockData, biomeId);
-                fillArray(z + 1, x, bedrockData, biomeId);
-                fillArray(z + 2, x, bedrockData, biomeId);
-                fillArray(z + 3, x, bedrockData, biomeId);
+                buffer.writeByte(biomeId);
+                buffer.writeByte(biomeId);
+                buffer.writeByte(biomeId);
+                buffer.writeByte(biomeId);
             }
         }
-        return bedrockData;
-    }
-
-    protected static void fillArray(int z, int x, byte[] legacyBiomeData, int biomeId) {
-        int offset = (z << 4) | x;
-        Arrays.fill(legacyBiomeData, offset, offset + 4, (byte) biomeId);
     }
 
     protected static byte biomeID(int[] biomeData, int x, int z) {
@@ -25,10 +25,13 @@
 
 package org.geysermc.connector.network.translators;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.geysermc.connector.GeyserConnector;
+import org.geysermc.connector.metrics.LatencyHistogram;
 import org.geysermc.connector.network.session.GeyserSession;
 
 import com.github.steveice10.packetlib.packet.Packet;
@@ -36,27 +39,38 @@ import com.nukkitx.protocol.bedrock.BedrockPacket;
 
 public class Registry<T> {
     private final Map<Class<? extends T>, PacketTranslator<? extends T>> MAP = new HashMap<>();
+    private final Map<Class<? extends T>, LatencyHistogram> TIMES = new HashMap<>();
+    private final AtomicLong untranslatedPackets = new AtomicLong();
 
     public static final Registry<Packet> JAVA = new Registry<>();
     public static final Registry<BedrockPacket> BEDROCK = new Registry<>();
 
     public static void registerJava(Class<? extends Packet> targetPacket, PacketTranslator<? extends Packet> translator) {
         JAVA.MAP.put(targetPacket, translator);
+        JAVA.TIMES.put(targetPacket, new LatencyHistogram());
     }
 
     public static void registerBedrock(Class<? extends BedrockPacket> targetPacket, PacketTranslator<? extends BedrockPacket> translator) {
         BEDROCK.MAP.put(targetPacket, translator);
+        BEDROCK.TIMES.put(targetPacket, new LatencyHistogram());
     }
 
     @SuppressWarnings("unchecked")
     public <P extends T> boolean translate(Class<? extends P> clazz, P packet, GeyserSession session) {
         if (!session.getUpstream().isClosed() && !session.isClosed()) {
             try {
-                if (MAP.containsKey(clazz)) {
-                    ((PacketTranslator<P>) MAP.get(clazz)).translate(packet, session);
+                PacketTranslator<P> translator = (PacketTranslator<P>) MAP.get(clazz);
+                if (translator != null) {
+                    long start = System.nanoTime();
+                    translator.translate(packet, session);
+                    TIMES.get(clazz).record(System.nanoTime() - start);
                     return true;
                 } else {
-                    GeyserConnector.getInstance().getLogger().debug("Could not find packet for " + (packet.toString().length() > 25 ? packet.getClass().getSimpleName() : packet));
+                    untranslatedPackets.incrementAndGet();
+                    GeyserConnector.getInstance().getLogger().debug(() -> {
+                        String description = packet.toString();
+                        return "Could not find packet for " + (description.length() > 25 ? packet.getClass().getSimpleName() : description);
+                    });
                 }
             } catch (Throwable ex) {
                 GeyserConnector.getInstance().getLogger().error("Could not translate packet " + packet.getClass().getSimpleName(), ex);
@@ -65,4 +79,29 @@ public class Registry<T> {
         }
         return false;
     }
+
+    /**
+     * @param clazz the packet class
+     * @return true if a translator is registered for the packet class
+     */
+    public boolean hasTranslator(Class<? extends T> clazz) {
+        return MAP.containsKey(clazz);
+    }
+
+    /**
+     * Gets how long the translators took for every packet class with a translator.
+     * Translations that threw an exception are not recorded.
+     *
+     * @return the translation times by packet class
+     */
+    public Map<Class<? extends T>, LatencyHistogram> getTranslationTimes() {
+        return Collections.unmodifiableMap(TIMES);
+    }
+
+    /**
+     * @return the amount of packets received that had no translator
+     */
+    public long getUntranslatedPackets() {
+        return untranslatedPackets.get();
+    }
 }
@@ -127,9 +127,9 @@ public class BedrockActionTranslator extends PacketTranslator<PlayerActionPacket
                 break;
             case JUMP:
                 session.setJumping(true);
-                session.getConnector().getGeneralThreadPool().schedule(() -> {
+                session.getConnector().getGeneralThreadPool().schedule(() -> session.execute(() -> {
                     session.setJumping(false);
-                }, 1, TimeUnit.SECONDS);
+                }), 1, TimeUnit.SECONDS);
                 break;
         }
     }
@@ -27,6 +27,7 @@ package org.geysermc.connector.network.translators.bedrock;
 
 import com.github.steveice10.mc.protocol.packet.ingame.client.player.ClientPlayerPlaceBlockPacket;
 import org.geysermc.connector.entity.Entity;
+import org.geysermc.connector.inventory.Inventory;
 import org.geysermc.connector.network.session.GeyserSession;
 import org.geysermc.connector.network.translators.PacketTranslator;
 import org.geysermc.connector.network.translators.Translator;
@@ -91,6 +92,15 @@ public class BedrockInventoryTransactionTranslator extends PacketTranslator<Inve
 
                 session.getDownstream().getSession().send(entityPacket);
                 break;
+            case NORMAL:
+            case INVENTORY_MISMATCH:
+                // The client already changed its inventory, the server may send the same items back to correct it
+                session.getInventory().invalidateBedrockItems();
+                Inventory openInventory = session.getInventoryCache().getOpenInventory();
+                if (openInventory != null) {
+                    openInventory.invalidateBedrockItems();
+                }
+                break;
         }
     }
 }
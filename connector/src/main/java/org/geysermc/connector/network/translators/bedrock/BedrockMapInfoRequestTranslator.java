@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2019-2020 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.connector.network.translators.bedrock;
+
+import com.nukkitx.protocol.bedrock.packet.ClientboundMapItemDataPacket;
+import com.nukkitx.protocol.bedrock.packet.MapInfoRequestPacket;
+import org.geysermc.connector.network.session.GeyserSession;
+import org.geysermc.connector.network.translators.PacketTranslator;
+import org.geysermc.connector.network.translators.Translator;
+import org.geysermc.connector.world.map.MapCanvas;
+
+/**
+ * Sent by the client when it holds a map it has no data for. If the session has
+ * already received the map we can send it straight away instead of waiting for the server.
+ */
+@Translator(packet = MapInfoRequestPacket.class)
+public class BedrockMapInfoRequestTranslator extends PacketTranslator<MapInfoRequestPacket> {
+
+    @Override
+    public void translate(MapInfoRequestPacket packet, GeyserSession session) {
+        MapCanvas canvas = session.getMapCanvasStore().getCanvas((int) packet.getUniqueMapId());
+        if (canvas == null) {
+            return;
+        }
+
+        int[] colors = canvas.getColors();
+        if (colors == null) {
+            return;
+        }
+
+        ClientboundMapItemDataPacket mapItemDataPacket = new ClientboundMapItemDataPacket();
+        mapItemDataPacket.setUniqueMapId(packet.getUniqueMapId());
+        mapItemDataPacket.setDimensionId(session.getPlayerEntity().getDimension());
+        mapItemDataPacket.setLocked(canvas.isLocked());
+        mapItemDataPacket.setScale(canvas.getScale());
+        mapItemDataPacket.setWidth(MapCanvas.SIZE);
+        mapItemDataPacket.setHeight(MapCanvas.SIZE);
+        mapItemDataPacket.setColors(colors);
+
+        session.getUpstream().sendPacket(mapItemDataPacket);
+    }
+}
@@ -26,13 +26,13 @@
 package org.geysermc.connector.network.translators.inventory;
 
 import com.nukkitx.math.vector.Vector3i;
-import com.nukkitx.protocol.bedrock.data.ItemData;
 import com.nukkitx.protocol.bedrock.packet.ContainerOpenPacket;
 import com.nukkitx.protocol.bedrock.packet.InventoryContentPacket;
 import com.nukkitx.protocol.bedrock.packet.InventorySlotPacket;
 import org.geysermc.connector.inventory.Inventory;
 import org.geysermc.connector.network.session.GeyserSession;
-import org.geysermc.connector.network.translators.Translators;
+import org.geysermc.connector.utils.InventoryUtils;
+import it.unimi.dsi.fastutil.ints.IntList;
 
 public class GenericInventoryTranslator extends InventoryTranslator {
 
@@ -52,22 +52,34 @@ public class GenericInventoryTranslator extends InventoryTranslator {
 
     @Override
     public void updateInventory(GeyserSession session, Inventory inventory) {
-        ItemData[] bedrockItems = new ItemData[inventory.getItems().length];
-        for (int i = 0; i < bedrockItems.length; i++) {
-            bedrockItems[i] = Translators.getItemTranslator().translateToBedrock(inventory.getItems()[i]);
+        IntList changedSlots = InventoryUtils.updateBedrockItems(inventory);
+        if (changedSlots.isEmpty())
+            return;
+
+        if (changedSlots.size() <= InventoryUtils.FULL_CONTENT_THRESHOLD) {
+            for (int i = 0; i < changedSlots.size(); i++) {
+                sendSlot(session, inventory, changedSlots.getInt(i));
+            }
+            return;
         }
 
         InventoryContentPacket contentPacket = new InventoryContentPacket();
         contentPacket.setContainerId(inventory.getId());
-        contentPacket.setContents(bedrockItems);
+        contentPacket.setContents(inventory.getBedrockItems().clone());
         session.getUpstream().sendPacket(contentPacket);
     }
 
     @Override
     public void updateSlot(GeyserSession session, Inventory inventory, int slot) {
+        if (InventoryUtils.updateBedrockItem(inventory, slot)) {
+            sendSlot(session, inventory, slot);
+        }
+    }
+
+    private void sendSlot(GeyserSession session, Inventory inventory, int slot) {
         InventorySlotPacket slotPacket = new InventorySlotPacket();
         slotPacket.setContainerId(inventory.getId());
-        slotPacket.setItem(Translators.getItemTranslator().translateToBedrock(inventory.getItems()[slot]));
+        slotPacket.setItem(inventory.getBedrockItems()[slot]);
         slotPacket.setSlot(slot);
         session.getUpstream().sendPacket(slotPacket);
     }
@@ -97,7 +97,7 @@ public class ItemTranslator {
             }
         }
 
-        GeyserConnector.getInstance().getLogger().debug("Missing mapping for bedrock item " + data.getId() + ":" + data.getDamage());
+        GeyserConnector.getInstance().getLogger().debug("Missing mapping for bedrock item {}:{}", data.getId(), data.getDamage());
         return ItemEntry.AIR;
     }
 
@@ -46,6 +46,9 @@ public class JavaJoinGameTranslator extends PacketTranslator<ServerJoinGamePacke
         PlayerEntity entity = session.getPlayerEntity();
         entity.setEntityId(packet.getEntityId());
 
+        // Map ids of the previous server behind a proxy mean something else on this one
+        session.getMapCanvasStore().clear();
+
         AdventureSettingsPacket bedrockPacket = new AdventureSettingsPacket();
         bedrockPacket.setUniqueEntityId(session.getPlayerEntity().getGeyserId());
         bedrockPacket.setPlayerPermission(PlayerPermission.MEMBER);
@@ -49,6 +49,7 @@ public class JavaEntityHeadLookTranslator extends PacketTranslator<ServerEntityH
         if (entity == null) return;
 
         entity.setRotation(Vector3f.from(entity.getRotation().getX(), entity.getRotation().getY(), packet.getHeadYaw()));
+        if (!entity.isValid()) return;
 
         if (entity.getEntityType() != EntityType.PLAYER) {
             MoveEntityAbsolutePacket moveEntityAbsolutePacket = new MoveEntityAbsolutePacket();
@@ -49,6 +49,8 @@ public class JavaEntityRotationTranslator extends PacketTranslator<ServerEntityR
 
         // entity.moveRelative(packet.getMovementX(), packet.getMovementY(), packet.getMovementZ(), packet.getYaw(), packet.getPitch());
         entity.setRotation(Vector3f.from(packet.getYaw(), packet.getPitch(), packet.getYaw()));
+        // Hidden entities are spawned with their current rotation once they are shown again
+        if (!entity.isValid()) return;
 
         if (entity.getEntityType() != EntityType.PLAYER) {
             MoveEntityAbsolutePacket moveEntityAbsolutePacket = new MoveEntityAbsolutePacket();
@@ -46,6 +46,7 @@ public class JavaEntityVelocityTranslator extends PacketTranslator<ServerEntityV
         if (entity == null) return;
 
         entity.setMotion(Vector3f.from(packet.getMotionX(), packet.getMotionY(), packet.getMotionZ()));
+        if (!entity.isValid()) return;
 
         SetEntityMotionPacket entityMotionPacket = new SetEntityMotionPacket();
         entityMotionPacket.setRuntimeEntityId(entity.getGeyserId());
@@ -30,7 +30,6 @@ import org.geysermc.connector.entity.type.EntityType;
 import org.geysermc.connector.network.session.GeyserSession;
 import org.geysermc.connector.network.translators.PacketTranslator;
 import org.geysermc.connector.network.translators.Translator;
-import org.geysermc.connector.utils.ChunkUtils;
 
 import com.github.steveice10.mc.protocol.packet.ingame.client.world.ClientTeleportConfirmPacket;
 import com.github.steveice10.mc.protocol.packet.ingame.server.entity.player.ServerPlayerPositionRotationPacket;
@@ -87,7 +86,7 @@ public class JavaPlayerPositionRotationTranslator extends PacketTranslator<Serve
             ClientTeleportConfirmPacket teleportConfirmPacket = new ClientTeleportConfirmPacket(packet.getTeleportId());
             session.getDownstream().getSession().send(teleportConfirmPacket);
 
-            ChunkUtils.updateChunkPosition(session, pos.toInt());
+            session.getChunkViewManager().teleport(pos.toInt());
 
             session.getConnector().getLogger().info("Spawned player at " + packet.getX() + " " + packet.getY() + " " + packet.getZ());
             return;
@@ -105,6 +104,9 @@ public class JavaPlayerPositionRotationTranslator extends PacketTranslator<Serve
             }
         }
 
+        session.getChunkViewManager().teleport(entity.getPosition().toInt());
+        session.getEntityVisibilityManager().updatePlayerPosition(entity.getPosition());
+
         ClientTeleportConfirmPacket teleportConfirmPacket = new ClientTeleportConfirmPacket(packet.getTeleportId());
         session.getDownstream().getSession().send(teleportConfirmPacket);
     }
@@ -25,7 +25,6 @@
 
 package org.geysermc.connector.network.translators.java.entity.spawn;
 
-import org.geysermc.connector.entity.Entity;
 import org.geysermc.connector.entity.ExpOrbEntity;
 import org.geysermc.connector.entity.type.EntityType;
 import org.geysermc.connector.network.session.GeyserSession;
@@ -42,10 +41,9 @@ public class JavaSpawnExpOrbTranslator extends PacketTranslator<ServerSpawnExpOr
     public void translate(ServerSpawnExpOrbPacket packet, GeyserSession session) {
         Vector3f position = Vector3f.from(packet.getX(), packet.getY(), packet.getZ());
 
-        Entity entity = new ExpOrbEntity(
-                packet.getExp(), packet.getEntityId(), session.getEntityCache().getNextEntityId().incrementAndGet(),
-                EntityType.EXPERIENCE_ORB, position, Vector3f.ZERO, Vector3f.ZERO
-        );
+        ExpOrbEntity entity = (ExpOrbEntity) session.getEntityCache().createEntity(EntityType.EXPERIENCE_ORB, packet.getEntityId(),
+                position, Vector3f.ZERO, Vector3f.ZERO);
+        entity.setAmount(packet.getExp());
 
         session.getEntityCache().spawnEntity(entity);
     }
@@ -25,9 +25,6 @@
 
 package org.geysermc.connector.network.translators.java.entity.spawn;
 
-import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
-
 import org.geysermc.connector.entity.Entity;
 import org.geysermc.connector.entity.type.EntityType;
 import org.geysermc.connector.network.session.GeyserSession;
@@ -53,17 +50,11 @@ public class JavaSpawnMobTranslator extends PacketTranslator<ServerSpawnMobPacke
             return;
         }
 
-        Class<? extends Entity> entityClass = type.getEntityClass();
-        try {
-            Constructor<? extends Entity> entityConstructor = entityClass.getConstructor(long.class, long.class, EntityType.class,
-                    Vector3f.class, Vector3f.class, Vector3f.class);
-
-            Entity entity = entityConstructor.newInstance(packet.getEntityId(), session.getEntityCache().getNextEntityId().incrementAndGet(),
-                    type, position, motion, rotation
-            );
-            session.getEntityCache().spawnEntity(entity);
-        } catch (NoSuchMethodException | InstantiationException | IllegalAccessException | InvocationTargetException ex) {
-            ex.printStackTrace();
+        Entity entity = session.getEntityCache().createEntity(type, packet.getEntityId(), position, motion, rotation);
+        if (entity == null) {
+            session.getConnector().getLogger().warning("Entity type " + type + " can't be spawned as a mob.");
+            return;
         }
+        session.getEntityCache().spawnEntity(entity);
     }
 }
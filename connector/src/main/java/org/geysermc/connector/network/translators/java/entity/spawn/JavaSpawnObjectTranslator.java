@@ -25,9 +25,6 @@
 
 package org.geysermc.connector.network.translators.java.entity.spawn;
 
-import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
-
 import com.github.steveice10.mc.protocol.data.game.entity.type.object.FallingBlockData;
 import org.geysermc.connector.entity.Entity;
 import org.geysermc.connector.entity.FallingBlockEntity;
@@ -59,23 +56,17 @@ public class JavaSpawnObjectTranslator extends PacketTranslator<ServerSpawnObjec
             return;
         }
 
-        Class<? extends Entity> entityClass = type.getEntityClass();
-        try {
-            Entity entity;
-            if (packet.getType() == ObjectType.FALLING_BLOCK) {
-                entity = new FallingBlockEntity(packet.getEntityId(), session.getEntityCache().getNextEntityId().incrementAndGet(),
-                        type, position, motion, rotation, ((FallingBlockData) packet.getData()).getId());
-            } else {
-                Constructor<? extends Entity> entityConstructor = entityClass.getConstructor(long.class, long.class, EntityType.class,
-                        Vector3f.class, Vector3f.class, Vector3f.class);
-
-                entity = entityConstructor.newInstance(packet.getEntityId(), session.getEntityCache().getNextEntityId().incrementAndGet(),
-                        type, position, motion, rotation
-                );
+        Entity entity;
+        if (packet.getType() == ObjectType.FALLING_BLOCK) {
+            entity = new FallingBlockEntity(packet.getEntityId(), session.getEntityCache().getNextEntityId().incrementAndGet(),
+                    type, position, motion, rotation, ((FallingBlockData) packet.getData()).getId());
+        } else {
+            entity = session.getEntityCache().createEntity(type, packet.getEntityId(), position, motion, rotation);
+            if (entity == null) {
+                session.getConnector().getLogger().warning("Entity type " + type + " can't be spawned as an object.");
+                return;
             }
-            session.getEntityCache().spawnEntity(entity);
-        } catch (NoSuchMethodException | InstantiationException | IllegalAccessException | InvocationTargetException ex) {
-            ex.printStackTrace();
         }
+        session.getEntityCache().spawnEntity(entity);
     }
 }
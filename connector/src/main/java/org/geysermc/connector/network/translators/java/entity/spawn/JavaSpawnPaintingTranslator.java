@@ -42,7 +42,7 @@ public class JavaSpawnPaintingTranslator extends PacketTranslator<ServerSpawnPai
     public void translate(ServerSpawnPaintingPacket packet, GeyserSession session) {
         Vector3f position = Vector3f.from(packet.getPosition().getX(), packet.getPosition().getY(), packet.getPosition().getZ());
 
-        GeyserConnector.getInstance().getGeneralThreadPool().execute(() -> { // #slowdownbrother, just don't execute it directly
+        GeyserConnector.getInstance().getGeneralThreadPool().execute(() -> session.execute(() -> { // #slowdownbrother, just don't execute it directly
             PaintingEntity entity = new PaintingEntity(
                     packet.getEntityId(),
                     session.getEntityCache().getNextEntityId().incrementAndGet(),
@@ -52,6 +52,6 @@ public class JavaSpawnPaintingTranslator extends PacketTranslator<ServerSpawnPai
                     .setDirection(packet.getDirection().ordinal());
 
             session.getEntityCache().spawnEntity(entity);
-        });
+        }));
     }
 }
@@ -45,7 +45,7 @@ public class JavaTeamTranslator extends PacketTranslator<ServerTeamPacket> {
 
     @Override
     public void translate(ServerTeamPacket packet, GeyserSession session) {
-        GeyserConnector.getInstance().getLogger().debug("Team packet " + packet.getTeamName() + " " + packet.getAction()+" "+ Arrays.toString(packet.getPlayers()));
+        GeyserConnector.getInstance().getLogger().debug(() -> "Team packet " + packet.getTeamName() + " " + packet.getAction() + " " + Arrays.toString(packet.getPlayers()));
 
         Scoreboard scoreboard = session.getScoreboardCache().getScoreboard();
         switch (packet.getAction()) {
@@ -41,12 +41,12 @@ public class JavaSetSlotTranslator extends PacketTranslator<ServerSetSlotPacket>
     @Override
     public void translate(ServerSetSlotPacket packet, GeyserSession session) {
         InventoryCache inventoryCache = session.getInventoryCache();
-        if (!inventoryCache.getInventories().containsKey(packet.getWindowId())) {
+        Inventory inventory = inventoryCache.getInventories().get(packet.getWindowId());
+        if (inventory == null || (packet.getWindowId() != 0 && !inventory.isOpen())) {
             inventoryCache.cachePacket(packet.getWindowId(), packet);
             return;
         }
 
-        Inventory inventory = inventoryCache.getInventories().get(packet.getWindowId());
         if (packet.getWindowId() != 0 && inventory.getWindowType() == null)
             return;
 
@@ -60,12 +60,9 @@ public class JavaSetSlotTranslator extends PacketTranslator<ServerSetSlotPacket>
             inventory.setItems(items);
 
             InventoryUtils.refreshPlayerInventory(session, inventory);
-
-            if (inventory.isOpen()) {
-                InventoryUtils.updateSlot(session, packet);
-            } else {
-                inventoryCache.cachePacket(packet.getWindowId(), packet);
-            }
+            return;
         }
+
+        InventoryUtils.updateSlot(session, packet);
     }
 }
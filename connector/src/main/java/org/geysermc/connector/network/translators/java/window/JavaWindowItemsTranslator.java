@@ -40,12 +40,12 @@ public class JavaWindowItemsTranslator extends PacketTranslator<ServerWindowItem
     @Override
     public void translate(ServerWindowItemsPacket packet, GeyserSession session) {
         InventoryCache inventoryCache = session.getInventoryCache();
-        if (!inventoryCache.getInventories().containsKey(packet.getWindowId())) {
+        Inventory inventory = inventoryCache.getInventories().get(packet.getWindowId());
+        if (inventory == null || (packet.getWindowId() != 0 && !inventory.isOpen())) {
             inventoryCache.cachePacket(packet.getWindowId(), packet);
             return;
         }
 
-        Inventory inventory = inventoryCache.getInventories().get(packet.getWindowId());
         // Player inventory
         if (packet.getWindowId() == 0) {
             inventory.setItems(packet.getItems());
@@ -27,38 +27,34 @@ package org.geysermc.connector.network.translators.java.world;
 
 import org.geysermc.connector.GeyserConnector;
 import org.geysermc.connector.network.session.GeyserSession;
-import org.geysermc.connector.network.translators.BiomeTranslator;
 import org.geysermc.connector.network.translators.PacketTranslator;
 import org.geysermc.connector.network.translators.Translator;
 import org.geysermc.connector.utils.ChunkUtils;
+import org.geysermc.connector.world.chunk.ChunkEncoder;
 import org.geysermc.connector.world.chunk.ChunkSection;
 
 import com.github.steveice10.mc.protocol.data.game.chunk.Chunk;
 import com.github.steveice10.mc.protocol.data.game.world.block.BlockState;
 import com.github.steveice10.mc.protocol.packet.ingame.server.world.ServerChunkDataPacket;
-import com.nukkitx.network.VarInts;
 import com.nukkitx.protocol.bedrock.packet.LevelChunkPacket;
 
-import io.netty.buffer.ByteBuf;
-import io.netty.buffer.Unpooled;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Translator(packet = ServerChunkDataPacket.class)
 public class JavaChunkDataTranslator extends PacketTranslator<ServerChunkDataPacket> {
 
+    private static final AtomicInteger pendingChunks = new AtomicInteger();
+
     @Override
     public void translate(ServerChunkDataPacket packet, GeyserSession session) {
-        if (session.isSpawned()) {
-            ChunkUtils.updateChunkPosition(session, session.getPlayerEntity().getPosition().toInt());
-        }
-
         if (packet.getColumn().getBiomeData() == null) //Non-full chunk
             return;
 
+        pendingChunks.incrementAndGet();
         // Not sure if this is safe or not, however without this the client usually times out
-        GeyserConnector.getInstance().getGeneralThreadPool().execute(() -> {
+        GeyserConnector.getInstance().getChunkThreadPool().execute(() -> {
             try {
                 ChunkUtils.ChunkData chunkData = ChunkUtils.translateToBedrock(packet.getColumn());
-                ByteBuf byteBuf = Unpooled.buffer(32);
                 ChunkSection[] sections = chunkData.sections;
 
                 int sectionCount = sections.length - 1;
@@ -67,19 +63,7 @@ public class JavaChunkDataTranslator extends PacketTranslator<ServerChunkDataPac
                 }
                 sectionCount++;
 
-                for (int i = 0; i < sectionCount; i++) {
-                    ChunkSection section = chunkData.sections[i];
-                    section.writeToNetwork(byteBuf);
-                }
-
-                byte[] bedrockBiome = BiomeTranslator.toBedrockBiome(packet.getColumn().getBiomeData());
-
-                byteBuf.writeBytes(bedrockBiome); // Biomes - 256 bytes
-                byteBuf.writeByte(0); // Border blocks - Edu edition only
-                VarInts.writeUnsignedInt(byteBuf, 0); // extra data length, 0 for now
-
-                byte[] payload = new byte[byteBuf.writerIndex()];
-                byteBuf.readBytes(payload);
+                byte[] payload = ChunkEncoder.encode(sections, sectionCount, packet.getColumn().getBiomeData());
 
                 LevelChunkPacket levelChunkPacket = new LevelChunkPacket();
                 levelChunkPacket.setSubChunksLength(sectionCount);
@@ -87,10 +71,23 @@ public class JavaChunkDataTranslator extends PacketTranslator<ServerChunkDataPac
                 levelChunkPacket.setChunkX(packet.getColumn().getX());
                 levelChunkPacket.setChunkZ(packet.getColumn().getZ());
                 levelChunkPacket.setData(payload);
-                session.getUpstream().sendPacket(levelChunkPacket);
+                // Sent from the session so the chunk is ordered with everything else it sends
+                session.execute(() -> {
+                    session.getUpstream().sendPacket(levelChunkPacket);
+                    session.getChunkViewManager().markLoaded(packet.getColumn().getX(), packet.getColumn().getZ());
+                });
             } catch (Exception ex) {
                 ex.printStackTrace();
+            } finally {
+                pendingChunks.decrementAndGet();
             }
         });
     }
+
+    /**
+     * @return the amount of chunk columns waiting to be translated on the chunk thread pool
+     */
+    public static int getPendingChunks() {
+        return pendingChunks.get();
+    }
 }
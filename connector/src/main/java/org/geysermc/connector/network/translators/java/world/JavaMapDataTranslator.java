@@ -31,7 +31,7 @@ import com.nukkitx.protocol.bedrock.packet.ClientboundMapItemDataPacket;
 import org.geysermc.connector.network.session.GeyserSession;
 import org.geysermc.connector.network.translators.PacketTranslator;
 import org.geysermc.connector.network.translators.Translator;
-import org.geysermc.connector.utils.MapColor;
+import org.geysermc.connector.world.map.MapCanvas;
 
 @Translator(packet = ServerMapDataPacket.class)
 public class JavaMapDataTranslator extends PacketTranslator<ServerMapDataPacket> {
@@ -44,25 +44,21 @@ public class JavaMapDataTranslator extends PacketTranslator<ServerMapDataPacket>
         mapItemDataPacket.setLocked(packet.isLocked());
         mapItemDataPacket.setScale(packet.getScale());
 
+        MapCanvas canvas = session.getMapCanvasStore().getOrCreateCanvas(packet.getMapId());
+        canvas.updateProperties(packet.getScale(), packet.isLocked());
+
         MapData data = packet.getData();
-        if (data != null) {
+        // Only the updated rectangle is sent, the client keeps the rest of the map as it was
+        if (data != null && data.getColumns() > 0 && data.getRows() > 0) {
             mapItemDataPacket.setXOffset(data.getX());
             mapItemDataPacket.setYOffset(data.getY());
             mapItemDataPacket.setWidth(data.getColumns());
             mapItemDataPacket.setHeight(data.getRows());
 
             // Every int entry is an ARGB color
-            int[] colors = new int[data.getData().length];
-
-            int idx = 0;
-            for (byte colorId : data.getData()) {
-                colors[idx] = MapColor.fromId(colorId).toARGB();
-                idx++;
-            }
-
-            mapItemDataPacket.setColors(colors);
+            mapItemDataPacket.setColors(canvas.update(data));
         }
 
-        session.getUpstream().getSession().sendPacket(mapItemDataPacket);
+        session.getUpstream().sendPacket(mapItemDataPacket);
     }
 }
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2019-2020 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.connector.thread;
+
+import lombok.Getter;
+import org.geysermc.connector.metrics.LatencyHistogram;
+
+import java.util.concurrent.RunnableScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The thread pool for scheduled and short background tasks, with named threads
+ * and logging for tasks that fail. Queue times are measured from the moment a task
+ * was due, so periodic tasks only count the time they ran late.
+ */
+public class GeyserScheduledThreadPool extends ScheduledThreadPoolExecutor implements InstrumentedThreadPool {
+
+    /**
+     * A free thread picks up a due task well within this time, so tasks starting later had to wait for a busy thread
+     */
+    private static final long SATURATION_THRESHOLD = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Getter
+    private final String name;
+
+    @Getter
+    private final LatencyHistogram queueTimes = new LatencyHistogram();
+
+    private final AtomicLong saturatedTasks = new AtomicLong();
+
+    public GeyserScheduledThreadPool(String name, int threads) {
+        super(threads, new GeyserThreadFactory(name));
+        this.name = name;
+        setRemoveOnCancelPolicy(true);
+    }
+
+    @Override
+    protected void beforeExecute(Thread thread, Runnable runnable) {
+        if (runnable instanceof RunnableScheduledFuture) {
+            long waited = Math.max(0, -((RunnableScheduledFuture<?>) runnable).getDelay(TimeUnit.NANOSECONDS));
+            queueTimes.record(waited);
+            if (waited > SATURATION_THRESHOLD) {
+                saturatedTasks.incrementAndGet();
+            }
+        }
+        super.beforeExecute(thread, runnable);
+    }
+
+    @Override
+    protected void afterExecute(Runnable runnable, Throwable throwable) {
+        super.afterExecute(runnable, throwable);
+        GeyserThreadPool.logFailure(name, runnable, throwable);
+    }
+
+    /**
+     * @return the amount of tasks that started late because every thread was busy
+     */
+    @Override
+    public long getSaturatedTasks() {
+        return saturatedTasks.get();
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2019-2020 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.connector.thread;
+
+import lombok.Getter;
+import org.geysermc.connector.GeyserConnector;
+import org.geysermc.connector.metrics.LatencyHistogram;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A fixed size thread pool with named threads that keeps track of how saturated it is:
+ * how many tasks had to wait for a free thread and how long tasks waited in the queue.
+ */
+public class GeyserThreadPool extends ThreadPoolExecutor implements InstrumentedThreadPool {
+
+    @Getter
+    private final String name;
+
+    /**
+     * How long tasks waited in the queue before a thread picked them up, in nanoseconds
+     */
+    @Getter
+    private final LatencyHistogram queueTimes = new LatencyHistogram();
+
+    private final AtomicInteger runningTasks = new AtomicInteger();
+    private final AtomicLong saturatedTasks = new AtomicLong();
+
+    public GeyserThreadPool(String name, int threads) {
+        this(name, threads, false);
+    }
+
+    /**
+     * @param name the name of the pool, used for its threads
+     * @param threads the amount of threads
+     * @param stopIdleThreads if threads are stopped after a minute without tasks. Only for pools whose
+     *                        threads don't keep thread local resources, such as the chunk encoding buffers.
+     */
+    public GeyserThreadPool(String name, int threads, boolean stopIdleThreads) {
+        super(threads, threads, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), new GeyserThreadFactory(name));
+        this.name = name;
+        allowCoreThreadTimeOut(stopIdleThreads);
+    }
+
+    /**
+     * Picks the size of a pool from the configuration, falling back to a size based on the CPU cores
+     *
+     * @param configured the configured size, 0 or less to use the default
+     * @param threadsPerCore the amount of threads per CPU core to default to
+     * @param minimum the minimum amount of threads to default to
+     * @return the size of the pool
+     */
+    public static int getSize(int configured, double threadsPerCore, int minimum) {
+        if (configured > 0)
+            return configured;
+
+        return Math.max(minimum, (int) (Runtime.getRuntime().availableProcessors() * threadsPerCore));
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        if (runningTasks.get() >= getMaximumPoolSize() || !getQueue().isEmpty()) {
+            saturatedTasks.incrementAndGet();
+        }
+        super.execute(new QueuedTask(command));
+    }
+
+    @Override
+    protected void beforeExecute(Thread thread, Runnable runnable) {
+        runningTasks.incrementAndGet();
+        if (runnable instanceof QueuedTask) {
+            queueTimes.record(System.nanoTime() - ((QueuedTask) runnable).queuedAt);
+        }
+        super.beforeExecute(thread, runnable);
+    }
+
+    @Override
+    protected void afterExecute(Runnable runnable, Throwable throwable) {
+        super.afterExecute(runnable, throwable);
+        runningTasks.decrementAndGet();
+        logFailure(name, runnable instanceof QueuedTask ? ((QueuedTask) runnable).task : runnable, throwable);
+    }
+
+    /**
+     * @return the amount of tasks that were submitted while every thread was busy
+     */
+    @Override
+    public long getSaturatedTasks() {
+        return saturatedTasks.get();
+    }
+
+    /**
+     * Logs the exception of a submitted or scheduled task that failed. Their exceptions are kept
+     * in the future and never reach the uncaught exception handler of the thread.
+     *
+     * @param name the name of the pool the task ran on
+     * @param runnable the task that ran
+     * @param throwable the exception thrown out of the task, already handled by the thread
+     */
+    static void logFailure(String name, Runnable runnable, Throwable throwable) {
+        if (throwable != null || !(runnable instanceof Future) || !((Future<?>) runnable).isDone())
+            return;
+
+        try {
+            ((Future<?>) runnable).get();
+        } catch (CancellationException e) {
+            // Cancelled tasks didn't fail
+        } catch (ExecutionException e) {
+            GeyserConnector.getInstance().getLogger().error("A task on the " + name + " thread pool failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static class QueuedTask implements Runnable {
+        private final Runnable task;
+        private final long queuedAt = System.nanoTime();
+
+        private QueuedTask(Runnable task) {
+            this.task = task;
+        }
+
+        @Override
+        public void run() {
+            task.run();
+        }
+    }
+}
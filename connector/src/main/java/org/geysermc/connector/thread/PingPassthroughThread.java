@@ -25,41 +25,45 @@
 
 package org.geysermc.connector.thread;
 
-import com.github.steveice10.mc.protocol.MinecraftConstants;
-import com.github.steveice10.mc.protocol.MinecraftProtocol;
-import com.github.steveice10.mc.protocol.data.SubProtocol;
 import com.github.steveice10.mc.protocol.data.status.ServerStatusInfo;
-import com.github.steveice10.mc.protocol.data.status.handler.ServerInfoHandler;
-import com.github.steveice10.packetlib.Client;
-import com.github.steveice10.packetlib.tcp.TcpSessionFactory;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.util.concurrent.DefaultThreadFactory;
 import lombok.Getter;
 import org.geysermc.connector.GeyserConnector;
+import org.geysermc.connector.network.remote.RemoteStatusPoller;
 
 public class PingPassthroughThread implements Runnable {
 
     private GeyserConnector connector;
 
+    private final EventLoopGroup eventLoopGroup;
+
+    @Getter
+    private final RemoteStatusPoller poller;
+
     public PingPassthroughThread(GeyserConnector connector) {
         this.connector = connector;
-    }
+        this.eventLoopGroup = new NioEventLoopGroup(1, new DefaultThreadFactory("Geyser Ping Passthrough", true));
 
-    @Getter
-    private ServerStatusInfo info;
+        this.poller = new RemoteStatusPoller(connector.getRemoteServer(), eventLoopGroup);
+        this.poller.setUpdateListener(() -> connector.getServerEventHandler().updatePong());
+    }
 
-    private Client client;
+    public ServerStatusInfo getInfo() {
+        return poller.getInfo();
+    }
 
     @Override
     public void run() {
         try {
-            this.client = new Client(connector.getConfig().getRemote().getAddress(), connector.getConfig().getRemote().getPort(), new MinecraftProtocol(SubProtocol.STATUS), new TcpSessionFactory());
-            this.client.getSession().setFlag(MinecraftConstants.SERVER_INFO_HANDLER_KEY, (ServerInfoHandler) (session, info) -> {
-                this.info = info;
-                this.client.getSession().disconnect(null);
-            });
-
-            client.getSession().connect();
+            poller.poll();
         } catch (Exception ex) {
             ex.printStackTrace();
         }
     }
+
+    public void shutdown() {
+        eventLoopGroup.shutdownGracefully();
+    }
 }
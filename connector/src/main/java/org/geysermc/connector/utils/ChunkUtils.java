@@ -29,19 +29,25 @@ import com.github.steveice10.mc.protocol.data.game.chunk.Chunk;
 import com.github.steveice10.mc.protocol.data.game.chunk.Column;
 import com.github.steveice10.mc.protocol.data.game.entity.metadata.Position;
 import com.github.steveice10.mc.protocol.data.game.world.block.BlockState;
-import com.nukkitx.math.vector.Vector2i;
 import com.nukkitx.math.vector.Vector3i;
 import com.nukkitx.protocol.bedrock.packet.LevelChunkPacket;
-import com.nukkitx.protocol.bedrock.packet.NetworkChunkPublisherUpdatePacket;
 import com.nukkitx.protocol.bedrock.packet.UpdateBlockPacket;
 import org.geysermc.connector.network.session.GeyserSession;
 import org.geysermc.connector.network.translators.Translators;
 import org.geysermc.connector.network.translators.block.BlockTranslator;
 import org.geysermc.connector.world.chunk.ChunkSection;
 
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 import static org.geysermc.connector.network.translators.block.BlockTranslator.BEDROCK_WATER_ID;
 
 public class ChunkUtils {
+
+    private static final Map<Integer, int[]> EMPTY_CHUNK_PATTERNS = new ConcurrentHashMap<>();
+
     public static ChunkData translateToBedrock(Column column) {
         ChunkData chunkData = new ChunkData();
 
@@ -49,6 +55,8 @@ public class ChunkUtils {
         int chunkSectionCount = chunks.length;
         chunkData.sections = new ChunkSection[chunkSectionCount];
 
+        int[] runtimeIds = null;
+        int[] waterIds = null;
         for (int chunkY = 0; chunkY < chunkSectionCount; chunkY++) {
             chunkData.sections[chunkY] = new ChunkSection();
             Chunk chunk = chunks[chunkY];
@@ -56,38 +64,39 @@ public class ChunkUtils {
             if (chunk == null || chunk.isEmpty())
                 continue;
 
+            if (runtimeIds == null) {
+                runtimeIds = new int[ChunkSection.SIZE];
+                waterIds = new int[ChunkSection.SIZE];
+            }
+
             ChunkSection section = chunkData.sections[chunkY];
 
+            boolean waterlogged = false;
             for (int x = 0; x < 16; x++) {
-                for (int y = 0; y < 16; y++) {
-                    for (int z = 0; z < 16; z++) {
+                for (int z = 0; z < 16; z++) {
+                    for (int y = 0; y < 16; y++) {
                         BlockState blockState = chunk.get(x, y, z);
-                        int id = BlockTranslator.getBedrockBlockId(blockState);
-
-                        section.getBlockStorageArray()[0].setFullBlock(ChunkSection.blockPosition(x, y, z), id);
+                        int index = ChunkSection.blockPosition(x, y, z);
+                        runtimeIds[index] = BlockTranslator.getBedrockBlockId(blockState);
 
                         if (BlockTranslator.isWaterlogged(blockState)) {
-                            section.getBlockStorageArray()[1].setFullBlock(ChunkSection.blockPosition(x, y, z), BEDROCK_WATER_ID);
+                            waterIds[index] = BEDROCK_WATER_ID;
+                            waterlogged = true;
+                        } else {
+                            waterIds[index] = 0;
                         }
                     }
                 }
             }
-        }
-        return chunkData;
-    }
-
-    public static void updateChunkPosition(GeyserSession session, Vector3i position) {
-        Vector2i chunkPos = session.getLastChunkPosition();
-        Vector2i newChunkPos = Vector2i.from(position.getX() >> 4, position.getZ() >> 4);
-
-        if (chunkPos == null || !chunkPos.equals(newChunkPos)) {
-            NetworkChunkPublisherUpdatePacket chunkPublisherUpdatePacket = new NetworkChunkPublisherUpdatePacket();
-            chunkPublisherUpdatePacket.setPosition(position);
-            chunkPublisherUpdatePacket.setRadius(session.getRenderDistance() << 4);
-            session.getUpstream().sendPacket(chunkPublisherUpdatePacket);
 
-            session.setLastChunkPosition(newChunkPos);
+            // Filled in bulk like the first layer, which skips the checked single block writes
+            if (waterlogged) {
+                section.setAll(1, waterIds);
+            }
+            section.setAll(0, runtimeIds);
+            section.freeze();
         }
+        return chunkData;
     }
 
     public static void updateBlock(GeyserSession session, BlockState blockState, Position position) {
@@ -119,18 +128,17 @@ public class ChunkUtils {
     public static void sendEmptyChunks(GeyserSession session, Vector3i position, int radius, boolean forceUpdate) {
         int chunkX = position.getX() >> 4;
         int chunkZ = position.getZ() >> 4;
-        for (int x = -radius; x <= radius; x++) {
-            for (int z = -radius; z <= radius; z++) {
-                LevelChunkPacket data = new LevelChunkPacket();
-                data.setChunkX(chunkX + x);
-                data.setChunkZ(chunkZ + z);
-                data.setSubChunksLength(0);
-                data.setData(Translators.EMPTY_LEVEL_CHUNK_DATA);
-                data.setCachingEnabled(false);
-                session.getUpstream().sendPacket(data);
+        int[] pattern = getEmptyChunkPattern(radius);
+
+        session.getUpstream().startBatch();
+        try {
+            for (int i = 0; i < pattern.length; i += 2) {
+                int x = chunkX + pattern[i];
+                int z = chunkZ + pattern[i + 1];
+                session.getUpstream().sendPacket(createEmptyChunkPacket(x, z));
 
                 if (forceUpdate) {
-                    Vector3i pos = Vector3i.from(chunkX + x << 4, 80, chunkZ + z << 4);
+                    Vector3i pos = Vector3i.from(x << 4, 80, z << 4);
                     UpdateBlockPacket blockPacket = new UpdateBlockPacket();
                     blockPacket.setBlockPosition(pos);
                     blockPacket.setDataLayer(0);
@@ -138,9 +146,51 @@ public class ChunkUtils {
                     session.getUpstream().sendPacket(blockPacket);
                 }
             }
+        } finally {
+            session.getUpstream().endBatch();
         }
     }
 
+    public static LevelChunkPacket createEmptyChunkPacket(int chunkX, int chunkZ) {
+        LevelChunkPacket data = new LevelChunkPacket();
+        data.setChunkX(chunkX);
+        data.setChunkZ(chunkZ);
+        data.setSubChunksLength(0);
+        data.setData(Translators.EMPTY_LEVEL_CHUNK_DATA);
+        data.setCachingEnabled(false);
+        return data;
+    }
+
+    /**
+     * Gets the chunk offsets of a square with the given radius, ordered from the center outwards
+     *
+     * @param radius the radius in chunks
+     * @return the offsets as consecutive x and z pairs
+     */
+    private static int[] getEmptyChunkPattern(int radius) {
+        return EMPTY_CHUNK_PATTERNS.computeIfAbsent(radius, r -> {
+            int size = (r * 2 + 1) * (r * 2 + 1);
+            Integer[] order = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = i;
+            }
+
+            int width = r * 2 + 1;
+            Arrays.sort(order, Comparator.comparingInt(i -> {
+                int x = i % width - r;
+                int z = i / width - r;
+                return x * x + z * z;
+            }));
+
+            int[] pattern = new int[size * 2];
+            for (int i = 0; i < size; i++) {
+                pattern[i * 2] = order[i] % width - r;
+                pattern[i * 2 + 1] = order[i] / width - r;
+            }
+            return pattern;
+        });
+    }
+
     public static final class ChunkData {
         public ChunkSection[] sections;
 
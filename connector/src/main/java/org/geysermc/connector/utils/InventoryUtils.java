@@ -34,58 +34,173 @@ import com.github.steveice10.packetlib.packet.Packet;
 import com.nukkitx.protocol.bedrock.data.ContainerId;
 import com.nukkitx.protocol.bedrock.data.ItemData;
 import com.nukkitx.protocol.bedrock.packet.InventoryContentPacket;
-import org.geysermc.connector.GeyserConnector;
+import com.nukkitx.protocol.bedrock.packet.InventorySlotPacket;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
 import org.geysermc.connector.inventory.Inventory;
 import org.geysermc.connector.network.session.GeyserSession;
+import org.geysermc.connector.network.session.cache.InventoryCache;
 import org.geysermc.connector.network.translators.Translators;
 import org.geysermc.connector.network.translators.inventory.InventoryTranslator;
 
-import java.util.List;
-import java.util.concurrent.TimeUnit;
+import java.util.Objects;
 
 public class InventoryUtils {
 
+    /**
+     * If more slots than this changed at once the whole inventory or container is sent instead of every slot separately
+     */
+    public static final int FULL_CONTENT_THRESHOLD = 16;
+
+    private static final int PLAYER_INVENTORY_BEDROCK_SIZE = 40;
+
     public static void refreshPlayerInventory(GeyserSession session, Inventory inventory) {
-        InventoryContentPacket inventoryContentPacket = new InventoryContentPacket();
-        inventoryContentPacket.setContainerId(ContainerId.INVENTORY);
+        IntList changedSlots = updateBedrockItems(inventory);
+        if (changedSlots.isEmpty())
+            return;
 
-        ItemData[] contents = new ItemData[40];
-        // Inventory
-        for (int i = 9; i < 36; i++) {
-            contents[i] = Translators.getItemTranslator().translateToBedrock(inventory.getItems()[i]);
+        if (changedSlots.size() <= FULL_CONTENT_THRESHOLD) {
+            for (int i = 0; i < changedSlots.size(); i++) {
+                int javaSlot = changedSlots.getInt(i);
+                int bedrockSlot = getPlayerBedrockSlot(javaSlot);
+                if (bedrockSlot == -1)
+                    continue;
+
+                InventorySlotPacket slotPacket = new InventorySlotPacket();
+                slotPacket.setContainerId(ContainerId.INVENTORY);
+                slotPacket.setSlot(bedrockSlot);
+                slotPacket.setItem(inventory.getBedrockItems()[javaSlot]);
+                session.getUpstream().sendPacket(slotPacket);
+            }
+            return;
         }
 
-        // Hotbar
-        for (int i = 36; i < 45; i++) {
-            contents[i - 36] = Translators.getItemTranslator().translateToBedrock(inventory.getItems()[i]);
-        }
+        InventoryContentPacket inventoryContentPacket = new InventoryContentPacket();
+        inventoryContentPacket.setContainerId(ContainerId.INVENTORY);
 
-        // Armor
-        for (int i = 5; i < 9; i++) {
-            contents[i + 31] = Translators.getItemTranslator().translateToBedrock(inventory.getItems()[i]);
+        ItemData[] contents = new ItemData[PLAYER_INVENTORY_BEDROCK_SIZE];
+        for (int javaSlot = 0; javaSlot < inventory.getBedrockItems().length; javaSlot++) {
+            int bedrockSlot = getPlayerBedrockSlot(javaSlot);
+            if (bedrockSlot != -1) {
+                contents[bedrockSlot] = inventory.getBedrockItems()[javaSlot];
+            }
         }
 
         inventoryContentPacket.setContents(contents);
         session.getUpstream().sendPacket(inventoryContentPacket);
     }
 
+    /**
+     * Translates every item that changed since the inventory was last sent to the client
+     * and stores the translations in {@link Inventory#getBedrockItems()}
+     *
+     * @param inventory the inventory to update
+     * @return the Java slots that changed
+     */
+    public static IntList updateBedrockItems(Inventory inventory) {
+        IntList changedSlots = new IntArrayList();
+        ItemStack[] items = inventory.getItems();
+        ItemStack[] sentItems = inventory.getSentItems();
+        ItemData[] bedrockItems = inventory.getBedrockItems();
+
+        int size = Math.min(items.length, sentItems.length);
+        for (int i = 0; i < size; i++) {
+            if (bedrockItems[i] != null && isSameItem(sentItems[i], items[i]))
+                continue;
+
+            sentItems[i] = items[i];
+            bedrockItems[i] = Translators.getItemTranslator().translateToBedrock(items[i]);
+            changedSlots.add(i);
+        }
+        return changedSlots;
+    }
+
+    /**
+     * Translates a single slot if it changed since it was last sent to the client
+     *
+     * @param inventory the inventory the slot is in
+     * @param slot the Java slot
+     * @return true if the slot changed
+     */
+    public static boolean updateBedrockItem(Inventory inventory, int slot) {
+        ItemStack item = inventory.getItems()[slot];
+        if (inventory.getBedrockItems()[slot] != null && isSameItem(inventory.getSentItems()[slot], item))
+            return false;
+
+        inventory.getSentItems()[slot] = item;
+        inventory.getBedrockItems()[slot] = Translators.getItemTranslator().translateToBedrock(item);
+        return true;
+    }
+
+    public static boolean isSameItem(ItemStack first, ItemStack second) {
+        if (first == second)
+            return true;
+
+        if (first == null || second == null)
+            return false;
+
+        return first.getId() == second.getId() && first.getAmount() == second.getAmount() && Objects.equals(first.getNbt(), second.getNbt());
+    }
+
+    private static int getPlayerBedrockSlot(int javaSlot) {
+        if (javaSlot >= 9 && javaSlot < 36) // Inventory
+            return javaSlot;
+        if (javaSlot >= 36 && javaSlot < 45) // Hotbar
+            return javaSlot - 36;
+        if (javaSlot >= 5 && javaSlot < 9) // Armor
+            return javaSlot + 31;
+        return -1;
+    }
+
     public static void openInventory(GeyserSession session, ServerOpenWindowPacket packet) {
-        Inventory inventory = new Inventory(packet.getWindowId(), packet.getType(), 45); // TODO: Find a way to set this value
-        session.getInventoryCache().getInventories().put(packet.getWindowId(), inventory);
-        session.getInventoryCache().setOpenInventory(inventory);
+        InventoryCache inventoryCache = session.getInventoryCache();
+
+        // Opening a window on Java Edition implicitly closes the previous one
+        Inventory previous = inventoryCache.getOpenInventory();
+        if (previous != null && previous.getId() != packet.getWindowId()) {
+            closeInventory(session, previous.getId());
+        }
+        inventoryCache.uncacheOtherPackets(packet.getWindowId());
+
+        Inventory inventory = new Inventory(packet.getName(), packet.getWindowId(), packet.getType(), 45); // TODO: Find a way to set this value
+        inventoryCache.cacheInventory(inventory);
+        inventoryCache.setOpenInventory(inventory);
 
         InventoryTranslator translator = Translators.getInventoryTranslator();
         translator.prepareInventory(session, inventory);
-        GeyserConnector.getInstance().getGeneralThreadPool().schedule(() -> {
-            List<Packet> packets = session.getInventoryCache().getCachedPackets().get(inventory.getId());
-            packets.forEach(itemPacket -> {
-                if (itemPacket != null) {
-                    if (ServerWindowItemsPacket.class.isAssignableFrom(itemPacket.getClass())) {
-                        updateInventory(session, (ServerWindowItemsPacket) itemPacket);
-                    }
-                }
-            });
-        }, 200, TimeUnit.MILLISECONDS);
+        translator.openInventory(session, inventory);
+        inventory.setOpen(true);
+
+        // The container open packet is batched ahead of the replayed contents, so the client has the container before its items
+        for (Packet cachedPacket : inventoryCache.takeCachedPackets(inventory.getId())) {
+            if (cachedPacket instanceof ServerWindowItemsPacket) {
+                updateInventory(session, (ServerWindowItemsPacket) cachedPacket);
+            } else if (cachedPacket instanceof ServerSetSlotPacket) {
+                updateSlot(session, (ServerSetSlotPacket) cachedPacket);
+            }
+        }
+    }
+
+    /**
+     * Forgets a window and everything buffered for it
+     *
+     * @param session the session the window belongs to
+     * @param windowId the Java window id
+     */
+    public static void closeInventory(GeyserSession session, int windowId) {
+        if (windowId == 0)
+            return;
+
+        InventoryCache inventoryCache = session.getInventoryCache();
+        Inventory inventory = inventoryCache.getInventories().get(windowId);
+        if (inventory != null) {
+            inventory.setOpen(false);
+        }
+
+        inventoryCache.uncacheInventory(windowId);
+        if (inventoryCache.getOpenInventory() != null && inventoryCache.getOpenInventory().getId() == windowId) {
+            inventoryCache.setOpenInventory(null);
+        }
     }
 
     public static void updateInventory(GeyserSession session, ServerWindowItemsPacket packet) {
@@ -1,7 +1,5 @@
 package org.geysermc.connector.utils;
 
-import java.util.Arrays;
-
 public enum MapColor {
     COLOR_0(-1, -1, -1),
     COLOR_1(-1, -1, -1),
@@ -212,6 +210,19 @@ public enum MapColor {
     COLOR_206(37, 22, 16),
     COLOR_207(19, 11, 8);
 
+    /**
+     * ARGB values of every possible color id, indexed by the unsigned id.
+     * Ids without a color are transparent.
+     */
+    private static final int[] ARGB_VALUES = new int[256];
+
+    static {
+        MapColor[] colors = values();
+        for (int i = 0; i < ARGB_VALUES.length; i++) {
+            ARGB_VALUES[i] = (i < colors.length ? colors[i] : COLOR_0).toARGB();
+        }
+    }
+
     private final int red;
     private final int green;
     private final int blue;
@@ -227,7 +238,32 @@ public enum MapColor {
     }
 
     public static MapColor fromId(int id) {
-        return Arrays.stream(values()).filter(color -> color.getId() == id).findFirst().orElse(COLOR_0);
+        MapColor[] colors = values();
+        return id >= 0 && id < colors.length ? colors[id] : COLOR_0;
+    }
+
+    /**
+     * Gets the ARGB value of a Java map color id
+     *
+     * @param id the color id as sent by the Java server
+     * @return the ARGB value of the color
+     */
+    public static int toARGB(byte id) {
+        return ARGB_VALUES[id & 0xFF];
+    }
+
+    /**
+     * Converts a region of Java map color ids to ARGB values
+     *
+     * @param ids the color ids as sent by the Java server
+     * @param argb the array to write the ARGB values into
+     * @param offset the index in argb to start writing at
+     */
+    public static void toARGB(byte[] ids, int[] argb, int offset) {
+        int length = Math.min(ids.length, argb.length - offset);
+        for (int i = 0; i < length; i++) {
+            argb[offset + i] = ARGB_VALUES[ids[i] & 0xFF];
+        }
     }
 
     public int toARGB() {
@@ -37,26 +37,40 @@ import javax.imageio.ImageIO;
 import java.awt.*;
 import java.awt.image.BufferedImage;
 import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
 import java.net.URL;
+import java.net.URLConnection;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class SkinProvider {
     public static final Gson GSON = new GsonBuilder().create();
     public static final boolean ALLOW_THIRD_PARTY_CAPES = GeyserConnector.getInstance().getConfig().isAllowThirdPartyCapes();
-    private static final ExecutorService EXECUTOR_SERVICE = Executors.newFixedThreadPool(ALLOW_THIRD_PARTY_CAPES ? 21 : 14);
 
     public static final byte[] STEVE_SKIN = new ProvidedSkin("bedrock/skin/skin_steve.png").getSkin();
     public static final Skin EMPTY_SKIN = new Skin(-1, "steve", STEVE_SKIN);
     private static Map<UUID, Skin> cachedSkins = new ConcurrentHashMap<>();
-    private static Map<UUID, CompletableFuture<Skin>> requestedSkins = new ConcurrentHashMap<>();
+    private static Map<String, CompletableFuture<Skin>> requestedSkins = new ConcurrentHashMap<>();
 
     public static final Cape EMPTY_CAPE = new Cape("", "no-cape", new byte[0], -1, true);
     private static Map<String, Cape> cachedCapes = new ConcurrentHashMap<>();
     private static Map<String, CompletableFuture<Cape>> requestedCapes = new ConcurrentHashMap<>();
 
-    private static final int CACHE_INTERVAL = 8 * 60 * 1000; // 8 minutes
+    private static Map<String, CompletableFuture<SkinAndCape>> requestedSkinAndCapes = new ConcurrentHashMap<>();
+
+    private static final AtomicLong skinCacheHits = new AtomicLong();
+    private static final AtomicLong skinCacheMisses = new AtomicLong();
+    private static final AtomicLong capeCacheHits = new AtomicLong();
+    private static final AtomicLong capeCacheMisses = new AtomicLong();
+
+    static final int CACHE_INTERVAL = 8 * 60 * 1000; // 8 minutes
+
+    private static final int IMAGE_TIMEOUT = 5000; // 5 seconds
+    private static final int UNOFFICIAL_CAPE_TIMEOUT = 6000; // 6 seconds for all providers together
 
     public static boolean hasSkinCached(UUID uuid) {
         return cachedSkins.containsKey(uuid);
@@ -74,90 +88,182 @@ public class SkinProvider {
         return capeUrl != null ? cachedCapes.getOrDefault(capeUrl, EMPTY_CAPE) : EMPTY_CAPE;
     }
 
-    public static CompletableFuture<SkinAndCape> requestSkinAndCape(UUID playerId, String skinUrl, String capeUrl) {
-        return CompletableFuture.supplyAsync(() -> {
-            long time = System.currentTimeMillis();
+    /**
+     * @return the amount of skin requests answered from the cache
+     */
+    public static long getSkinCacheHits() {
+        return skinCacheHits.get();
+    }
+
+    /**
+     * @return the amount of skin requests that needed a download, or joined a running one
+     */
+    public static long getSkinCacheMisses() {
+        return skinCacheMisses.get();
+    }
+
+    /**
+     * @return the amount of cape requests answered from the cache
+     */
+    public static long getCapeCacheHits() {
+        return capeCacheHits.get();
+    }
 
-            SkinAndCape skinAndCape = new SkinAndCape(
-                    getOrDefault(requestSkin(playerId, skinUrl, false), EMPTY_SKIN, 5),
-                    getOrDefault(requestCape(capeUrl, false), EMPTY_CAPE, 5)
-            );
+    /**
+     * @return the amount of cape requests that needed a download, or joined a running one
+     */
+    public static long getCapeCacheMisses() {
+        return capeCacheMisses.get();
+    }
 
-            GeyserConnector.getInstance().getLogger().debug("Took " + (System.currentTimeMillis() - time) + "ms for " + playerId);
-            return skinAndCape;
-        }, EXECUTOR_SERVICE);
+    /**
+     * Resolves the skin and cape of a player. Every session asking for the same player and textures
+     * while a request is running shares it, and the returned future is completed by the download
+     * threads so no thread ever waits on it.
+     *
+     * @param playerId the uuid of the player
+     * @param username the name of the player, used for third party capes
+     * @param skinUrl the skin texture url
+     * @param capeUrl the cape texture url, may be null
+     * @return a future completed with the resolved skin and cape
+     */
+    public static CompletableFuture<SkinAndCape> requestSkinAndCape(UUID playerId, String username, String skinUrl, String capeUrl) {
+        String key = playerId + " " + skinUrl + " " + capeUrl;
+        CompletableFuture<SkinAndCape> requested = requestedSkinAndCapes.get(key);
+        if (requested != null) return requested; // already requested
+
+        CompletableFuture<SkinAndCape> future = new CompletableFuture<>();
+        requested = requestedSkinAndCapes.putIfAbsent(key, future);
+        if (requested != null) return requested;
+
+        long time = System.currentTimeMillis();
+        requestSkin(playerId, skinUrl)
+                .thenCombine(requestCape(capeUrl), SkinAndCape::new)
+                .thenCompose(skinAndCape -> {
+                    if (!skinAndCape.getCape().isFailed() || !ALLOW_THIRD_PARTY_CAPES) {
+                        return CompletableFuture.completedFuture(skinAndCape);
+                    }
+                    return requestUnofficialCape(skinAndCape.getCape(), playerId, username)
+                            .thenApply(cape -> new SkinAndCape(skinAndCape.getSkin(), cape));
+                })
+                .whenComplete((skinAndCape, throwable) -> {
+                    requestedSkinAndCapes.remove(key);
+                    GeyserConnector.getInstance().getLogger().debug("Took {}ms for {}", System.currentTimeMillis() - time, playerId);
+                    future.complete(throwable == null ? skinAndCape : new SkinAndCape(EMPTY_SKIN, EMPTY_CAPE));
+                });
+        return future;
     }
 
-    public static CompletableFuture<Skin> requestSkin(UUID playerId, String textureUrl, boolean newThread) {
+    public static CompletableFuture<Skin> requestSkin(UUID playerId, String textureUrl) {
         if (textureUrl == null || textureUrl.isEmpty()) return CompletableFuture.completedFuture(EMPTY_SKIN);
-        if (requestedSkins.containsKey(playerId)) return requestedSkins.get(playerId); // already requested
 
-        if ((System.currentTimeMillis() - CACHE_INTERVAL) < cachedSkins.getOrDefault(playerId, EMPTY_SKIN).getRequestedOn()) {
+        Skin cachedSkin = cachedSkins.getOrDefault(playerId, EMPTY_SKIN);
+        if (cachedSkin.getTextureUrl().equals(textureUrl) && (System.currentTimeMillis() - CACHE_INTERVAL) < cachedSkin.getRequestedOn()) {
             // no need to update, still cached
-            return CompletableFuture.completedFuture(cachedSkins.get(playerId));
-        }
-
-        CompletableFuture<Skin> future;
-        if (newThread) {
-            future = CompletableFuture.supplyAsync(() -> supplySkin(playerId, textureUrl), EXECUTOR_SERVICE)
-                    .whenCompleteAsync((skin, throwable) -> {
-                        if (!cachedSkins.getOrDefault(playerId, EMPTY_SKIN).getTextureUrl().equals(textureUrl)) {
-                            skin.updated = true;
-                            cachedSkins.put(playerId, skin);
-                        }
-                        requestedSkins.remove(skin.getSkinOwner());
-                    });
-            requestedSkins.put(playerId, future);
-        } else {
-            Skin skin = supplySkin(playerId, textureUrl);
-            future = CompletableFuture.completedFuture(skin);
-            cachedSkins.put(playerId, skin);
+            skinCacheHits.incrementAndGet();
+            return CompletableFuture.completedFuture(cachedSkin);
         }
+        skinCacheMisses.incrementAndGet();
+
+        String key = playerId + " " + textureUrl;
+        CompletableFuture<Skin> requested = requestedSkins.get(key);
+        if (requested != null) return requested; // already requested
+
+        CompletableFuture<Skin> future = new CompletableFuture<>();
+        requested = requestedSkins.putIfAbsent(key, future);
+        if (requested != null) return requested;
+
+        CompletableFuture.supplyAsync(() -> supplySkin(playerId, textureUrl), GeyserConnector.getInstance().getSkinThreadPool())
+                .whenComplete((skin, throwable) -> {
+                    if (skin != null) {
+                        cachedSkins.put(playerId, skin);
+                    }
+                    requestedSkins.remove(key);
+                    future.complete(skin != null ? skin : EMPTY_SKIN);
+                });
         return future;
     }
 
-    public static CompletableFuture<Cape> requestCape(String capeUrl, boolean newThread) {
+    public static CompletableFuture<Cape> requestCape(String capeUrl) {
         if (capeUrl == null || capeUrl.isEmpty()) return CompletableFuture.completedFuture(EMPTY_CAPE);
-        if (requestedCapes.containsKey(capeUrl)) return requestedCapes.get(capeUrl); // already requested
 
         boolean officialCape = capeUrl.startsWith("https://textures.minecraft.net");
-        boolean validCache = (System.currentTimeMillis() - CACHE_INTERVAL) < cachedCapes.getOrDefault(capeUrl, EMPTY_CAPE).getRequestedOn();
-
-        if ((cachedCapes.containsKey(capeUrl) && officialCape) || validCache) {
+        Cape cachedCape = cachedCapes.get(capeUrl);
+        if (cachedCape != null && (officialCape || (System.currentTimeMillis() - CACHE_INTERVAL) < cachedCape.getRequestedOn())) {
             // the cape is an official cape (static) or the cape doesn't need a update yet
-            return CompletableFuture.completedFuture(cachedCapes.get(capeUrl));
+            capeCacheHits.incrementAndGet();
+            return CompletableFuture.completedFuture(cachedCape);
         }
+        capeCacheMisses.incrementAndGet();
 
-        CompletableFuture<Cape> future;
-        if (newThread) {
-            future = CompletableFuture.supplyAsync(() -> supplyCape(capeUrl), EXECUTOR_SERVICE)
-                    .whenCompleteAsync((cape, throwable) -> {
+        CompletableFuture<Cape> requested = requestedCapes.get(capeUrl);
+        if (requested != null) return requested; // already requested
+
+        CompletableFuture<Cape> future = new CompletableFuture<>();
+        requested = requestedCapes.putIfAbsent(capeUrl, future);
+        if (requested != null) return requested;
+
+        CompletableFuture.supplyAsync(() -> supplyCape(capeUrl), GeyserConnector.getInstance().getSkinThreadPool())
+                .whenComplete((cape, throwable) -> {
+                    if (cape != null) {
                         cachedCapes.put(capeUrl, cape);
-                        requestedCapes.remove(capeUrl);
-                    });
-            requestedCapes.put(capeUrl, future);
-        } else {
-            Cape cape = supplyCape(capeUrl); // blocking
-            future = CompletableFuture.completedFuture(cape);
-            cachedCapes.put(capeUrl, cape);
-        }
+                    }
+                    requestedCapes.remove(capeUrl);
+                    future.complete(cape != null ? cape : EMPTY_CAPE);
+                });
         return future;
     }
 
-    public static CompletableFuture<Cape> requestUnofficialCape(Cape officialCape, UUID playerId,
-                                                                String username, boolean newThread) {
-        if (officialCape.isFailed() && ALLOW_THIRD_PARTY_CAPES) {
-            for (UnofficalCape cape : UnofficalCape.VALUES) {
-                Cape cape1 = getOrDefault(
-                        requestCape(cape.getUrlFor(playerId, username), newThread),
-                        EMPTY_CAPE, 4
-                );
-                if (!cape1.isFailed()) {
-                    return CompletableFuture.completedFuture(cape1);
+    /**
+     * Asks every third party cape provider at once. The result is the cape of the provider with
+     * the highest priority that has one, as soon as every provider with a higher priority failed.
+     * Providers that did not answer within {@link #UNOFFICIAL_CAPE_TIMEOUT} are treated as failed.
+     *
+     * @param officialCape the cape to fall back to
+     * @param playerId the uuid of the player
+     * @param username the name of the player
+     * @return a future completed with the chosen cape
+     */
+    public static CompletableFuture<Cape> requestUnofficialCape(Cape officialCape, UUID playerId, String username) {
+        if (!officialCape.isFailed() || !ALLOW_THIRD_PARTY_CAPES) {
+            return CompletableFuture.completedFuture(officialCape);
+        }
+
+        List<CompletableFuture<Cape>> requests = new ArrayList<>(UnofficalCape.VALUES.length);
+        for (UnofficalCape cape : UnofficalCape.VALUES) {
+            requests.add(requestCape(cape.getUrlFor(playerId, username)));
+        }
+
+        CompletableFuture<Cape> future = new CompletableFuture<>();
+        Runnable check = () -> {
+            for (CompletableFuture<Cape> request : requests) {
+                if (!request.isDone())
+                    return; // a provider with a higher priority could still have a cape
+
+                Cape cape = request.getNow(EMPTY_CAPE);
+                if (!cape.isFailed()) {
+                    future.complete(cape);
+                    return;
                 }
             }
+            future.complete(officialCape);
+        };
+        for (CompletableFuture<Cape> request : requests) {
+            request.whenComplete((cape, throwable) -> check.run());
         }
-        return CompletableFuture.completedFuture(officialCape);
+
+        ScheduledFuture<?> timeout = GeyserConnector.getInstance().getGeneralThreadPool().schedule(() -> {
+            for (CompletableFuture<Cape> request : requests) {
+                Cape cape = request.getNow(EMPTY_CAPE);
+                if (!cape.isFailed()) {
+                    future.complete(cape);
+                    return;
+                }
+            }
+            future.complete(officialCape);
+        }, UNOFFICIAL_CAPE_TIMEOUT, TimeUnit.MILLISECONDS);
+        future.whenComplete((cape, throwable) -> timeout.cancel(false));
+        return future;
     }
 
     private static Skin supplySkin(UUID uuid, String textureUrl) {
@@ -186,8 +292,16 @@ public class SkinProvider {
     }
 
     private static byte[] requestImage(String imageUrl, boolean cape) throws Exception {
-        BufferedImage image = ImageIO.read(new URL(imageUrl));
-        GeyserConnector.getInstance().getLogger().debug("Downloaded " + imageUrl);
+        URLConnection connection = new URL(imageUrl).openConnection();
+        connection.setConnectTimeout(IMAGE_TIMEOUT);
+        connection.setReadTimeout(IMAGE_TIMEOUT);
+
+        BufferedImage image;
+        try (InputStream inputStream = connection.getInputStream()) {
+            image = ImageIO.read(inputStream);
+        }
+        if (image == null) throw new IllegalArgumentException("Failed to read image from " + imageUrl);
+        GeyserConnector.getInstance().getLogger().debug("Downloaded {}", imageUrl);
 
         if (cape) {
             image = image.getWidth() > 64 ? scale(image) : image;
@@ -222,13 +336,6 @@ public class SkinProvider {
         return resized;
     }
 
-    public static <T> T getOrDefault(CompletableFuture<T> future, T defaultValue, int timeoutInSeconds) {
-        try {
-            return future.get(timeoutInSeconds, TimeUnit.SECONDS);
-        } catch (Exception ignored) {}
-        return defaultValue;
-    }
-
     @AllArgsConstructor
     @Getter
     public static class SkinAndCape {
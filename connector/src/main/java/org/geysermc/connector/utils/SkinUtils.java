@@ -42,11 +42,19 @@ import org.geysermc.connector.network.session.GeyserSession;
 import java.nio.charset.StandardCharsets;
 import java.util.Base64;
 import java.util.Collections;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 
 public class SkinUtils {
 
+    /**
+     * Serialized skins by player, kept as long as the skins of the SkinProvider are
+     */
+    private static final Map<UUID, CachedSerializedSkin> SERIALIZED_SKINS = new ConcurrentHashMap<>();
+    private static volatile long lastSerializedSkinCleanup = System.currentTimeMillis();
+
     public static PlayerListPacket.Entry buildCachedEntry(GameProfile profile, long geyserId) {
         GameProfileData data = GameProfileData.from(profile);
         SkinProvider.Cape cape = SkinProvider.getCachedCape(data.getCapeUrl());
@@ -82,21 +90,61 @@ public class SkinUtils {
                                                             String skinId, byte[] skinData,
                                                             String capeId, byte[] capeData,
                                                             String geometryName, String geometryData) {
-        SerializedSkin serializedSkin = SerializedSkin.of(
-                skinId, geometryName, ImageData.of(skinData), Collections.emptyList(),
-                ImageData.of(capeData), geometryData, "", true, false, false, capeId, uuid.toString()
-        );
-
         PlayerListPacket.Entry entry = new PlayerListPacket.Entry(uuid);
         entry.setName(username);
         entry.setEntityId(geyserId);
-        entry.setSkin(serializedSkin);
+        entry.setSkin(getSerializedSkin(uuid, skinId, skinData, capeId, capeData, geometryName, geometryData));
         entry.setXuid("");
         entry.setPlatformChatId("");
         entry.setTeacher(false);
         return entry;
     }
 
+    /**
+     * Gets the serialized skin of a player, which is shared between every session that shows the player.
+     * Skin and cape data are compared by reference as they always come from the skin provider caches.
+     */
+    private static SerializedSkin getSerializedSkin(UUID uuid, String skinId, byte[] skinData,
+                                                    String capeId, byte[] capeData,
+                                                    String geometryName, String geometryData) {
+        long now = System.currentTimeMillis();
+        CachedSerializedSkin cached = SERIALIZED_SKINS.get(uuid);
+        if (cached != null && cached.matches(skinId, skinData, capeId, capeData, geometryName, geometryData)) {
+            cached.lastUsed = now;
+            return cached.getSkin();
+        }
+
+        SerializedSkin serializedSkin = SerializedSkin.of(
+                skinId, geometryName, ImageData.of(skinData), Collections.emptyList(),
+                ImageData.of(capeData), geometryData, "", true, false, false, capeId, uuid.toString()
+        );
+        SERIALIZED_SKINS.put(uuid, new CachedSerializedSkin(skinId, skinData, capeId, capeData, geometryName, geometryData, serializedSkin, now));
+
+        if (now - lastSerializedSkinCleanup > SkinProvider.CACHE_INTERVAL) {
+            lastSerializedSkinCleanup = now;
+            SERIALIZED_SKINS.values().removeIf(skin -> now - skin.lastUsed > SkinProvider.CACHE_INTERVAL);
+        }
+        return serializedSkin;
+    }
+
+    @AllArgsConstructor
+    private static class CachedSerializedSkin {
+        private final String skinId;
+        private final byte[] skinData;
+        private final String capeId;
+        private final byte[] capeData;
+        private final String geometryName;
+        private final String geometryData;
+        @Getter
+        private final SerializedSkin skin;
+        private volatile long lastUsed;
+
+        private boolean matches(String skinId, byte[] skinData, String capeId, byte[] capeData, String geometryName, String geometryData) {
+            return this.skinData == skinData && this.capeData == capeData && this.skinId.equals(skinId)
+                    && this.capeId.equals(capeId) && this.geometryName.equals(geometryName) && this.geometryData.equals(geometryData);
+        }
+    }
+
     @AllArgsConstructor
     @Getter
     public static class GameProfileData {
@@ -135,57 +183,43 @@ public class SkinUtils {
 
     public static void requestAndHandleSkinAndCape(PlayerEntity entity, GeyserSession session,
                                                    Consumer<SkinProvider.SkinAndCape> skinAndCapeConsumer) {
-        GeyserConnector.getInstance().getGeneralThreadPool().execute(() -> {
-            GameProfileData data = GameProfileData.from(entity.getProfile());
-
-            SkinProvider.requestSkinAndCape(entity.getUuid(), data.getSkinUrl(), data.getCapeUrl())
-                    .whenCompleteAsync((skinAndCape, throwable) -> {
-                        try {
-                            SkinProvider.Skin skin = skinAndCape.getSkin();
-                            SkinProvider.Cape cape = skinAndCape.getCape();
-
-                            if (cape.isFailed() && SkinProvider.ALLOW_THIRD_PARTY_CAPES) {
-                                cape = SkinProvider.getOrDefault(SkinProvider.requestUnofficialCape(
-                                        cape, entity.getUuid(),
-                                        entity.getUsername(), false
-                                ), SkinProvider.EMPTY_CAPE, SkinProvider.UnofficalCape.VALUES.length * 3);
+        GameProfileData data = GameProfileData.from(entity.getProfile());
+
+        SkinProvider.requestSkinAndCape(entity.getUuid(), entity.getUsername(), data.getSkinUrl(), data.getCapeUrl())
+                // The skin is converted on the skin threads, the result is handled on the session again
+                .whenComplete((skinAndCape, throwable) -> session.execute(() -> {
+                    try {
+                        SkinProvider.Skin skin = skinAndCape.getSkin();
+                        SkinProvider.Cape cape = skinAndCape.getCape();
+
+                        if (entity.getLastSkinUpdate() < skin.getRequestedOn()) {
+                            entity.setLastSkinUpdate(skin.getRequestedOn());
+
+                            if (session.getUpstream().isInitialized()) {
+                                PlayerListPacket.Entry updatedEntry = buildEntryManually(
+                                        entity.getUuid(),
+                                        entity.getUsername(),
+                                        entity.getGeyserId(),
+                                        entity.getUuid().toString(),
+                                        skin.getSkinData(),
+                                        cape.getCapeId(),
+                                        cape.getCapeData(),
+                                        getLegacySkinGeometry("geometry.humanoid.custom" + (data.isAlex() ? "Slim" : "")),
+                                        ""
+                                );
+
+                                // The consumer usually spawns the player, so it has to wait until the entry was sent
+                                session.getPlayerListUpdater().queueUpdate(entity, updatedEntry,
+                                        skinAndCapeConsumer != null ? () -> skinAndCapeConsumer.accept(skinAndCape) : null);
+                                return;
                             }
-
-                            if (entity.getLastSkinUpdate() < skin.getRequestedOn()) {
-                                entity.setLastSkinUpdate(skin.getRequestedOn());
-
-                                if (session.getUpstream().isInitialized()) {
-                                    PlayerListPacket.Entry updatedEntry = buildEntryManually(
-                                            entity.getUuid(),
-                                            entity.getUsername(),
-                                            entity.getGeyserId(),
-                                            entity.getUuid().toString(),
-                                            skin.getSkinData(),
-                                            cape.getCapeId(),
-                                            cape.getCapeData(),
-                                            getLegacySkinGeometry("geometry.humanoid.custom" + (data.isAlex() ? "Slim" : "")),
-                                            ""
-                                    );
-
-                                    PlayerListPacket playerRemovePacket = new PlayerListPacket();
-                                    playerRemovePacket.setAction(PlayerListPacket.Action.REMOVE);
-                                    playerRemovePacket.getEntries().add(updatedEntry);
-                                    session.getUpstream().sendPacket(playerRemovePacket);
-
-                                    PlayerListPacket playerAddPacket = new PlayerListPacket();
-                                    playerAddPacket.setAction(PlayerListPacket.Action.ADD);
-                                    playerAddPacket.getEntries().add(updatedEntry);
-                                    session.getUpstream().sendPacket(playerAddPacket);
-                                }
-                            }
-                        } catch (Exception e) {
-                            GeyserConnector.getInstance().getLogger().error("Failed getting skin for " + entity.getUuid(), e);
                         }
+                    } catch (Exception e) {
+                        GeyserConnector.getInstance().getLogger().error("Failed getting skin for " + entity.getUuid(), e);
+                    }
 
-                        if (skinAndCapeConsumer != null) skinAndCapeConsumer.accept(skinAndCape);
-                    });
-
-        });
+                    if (skinAndCapeConsumer != null) skinAndCapeConsumer.accept(skinAndCape);
+                }));
     }
 
     private static String getLegacySkinGeometry(String geometryName) {
@@ -19,6 +19,10 @@ import org.geysermc.connector.world.chunk.bitarray.BitArrayVersion;
 
 import java.util.function.IntConsumer;
 
+/**
+ * Block storage is not thread safe. It is meant to be filled by a single thread and
+ * then {@link #freeze() frozen}, after which it can be shared and read by any thread.
+ */
 public class BlockStorage {
 
     private static final int SIZE = 4096;
@@ -26,6 +30,8 @@ public class BlockStorage {
     private final IntList palette;
     private BitArray bitArray;
 
+    private boolean frozen;
+
     public BlockStorage() {
         this(BitArrayVersion.V2);
     }
@@ -36,29 +42,104 @@ public class BlockStorage {
         this.palette.add(0); // Air is at the start of every palette.
     }
 
+    /**
+     * Creates a storage holding the given blocks, without allocating a bit array that is replaced right away
+     *
+     * @param runtimeIds the runtime ids indexed by block position, this array is overwritten with palette indexes
+     */
+    public BlockStorage(int[] runtimeIds) {
+        this.palette = new IntArrayList(16);
+        this.setAll(runtimeIds);
+    }
+
     private BlockStorage(BitArray bitArray, IntArrayList palette) {
         this.palette = palette;
         this.bitArray = bitArray;
     }
 
     private static int getPaletteHeader(BitArrayVersion version, boolean runtime) {
-        return (version.getId() << 1) | (runtime ? 1 : 0);
+        return getPaletteHeader(version.getId(), runtime);
+    }
+
+    private static int getPaletteHeader(int bitsPerBlock, boolean runtime) {
+        return (bitsPerBlock << 1) | (runtime ? 1 : 0);
     }
 
     private static BitArrayVersion getVersionFromHeader(byte header) {
         return BitArrayVersion.get(header >> 1, true);
     }
 
-    public synchronized int getFullBlock(int index) {
+    public int getFullBlock(int index) {
         return this.palette.getInt(this.bitArray.get(index));
     }
 
-    public synchronized void setFullBlock(int index, int runtimeId) {
+    public void setFullBlock(int index, int runtimeId) {
+        checkNotFrozen();
         int idx = this.idFor(runtimeId);
         this.bitArray.set(index, idx);
     }
 
-    public synchronized void writeToNetwork(ByteBuf buffer) {
+    /**
+     * Replaces every block of this storage at once, choosing the bit array size only once.
+     * The palette is rebuilt from the blocks that are actually used, so a section filled
+     * with a single block is written without any words.
+     *
+     * @param runtimeIds the runtime ids indexed by block position, this array is overwritten with palette indexes
+     */
+    public void setAll(int[] runtimeIds) {
+        checkNotFrozen();
+
+        this.palette.clear();
+        int lastRuntimeId = runtimeIds[0];
+        int lastIndex = this.paletteIndexOf(lastRuntimeId);
+        for (int i = 0; i < SIZE; i++) {
+            int runtimeId = runtimeIds[i];
+            if (runtimeId != lastRuntimeId) {
+                lastRuntimeId = runtimeId;
+                lastIndex = this.paletteIndexOf(runtimeId);
+            }
+            runtimeIds[i] = lastIndex;
+        }
+
+        BitArray bitArray = BitArrayVersion.forEntries(this.palette.size()).createPalette(SIZE);
+        bitArray.setAll(runtimeIds);
+        this.bitArray = bitArray;
+    }
+
+    /**
+     * Makes this storage read only, so it can be safely handed to other threads
+     */
+    public void freeze() {
+        this.frozen = true;
+    }
+
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    private void checkNotFrozen() {
+        if (this.frozen) {
+            throw new IllegalStateException("Block storage is frozen");
+        }
+    }
+
+    /**
+     * Writes this storage using the smallest bit array the palette fits in.
+     * A storage with a single palette entry is written without any words at all.
+     */
+    public void writeToNetwork(ByteBuf buffer) {
+        if (palette.size() == 1) {
+            buffer.writeByte(getPaletteHeader(0, true));
+            VarInts.writeInt(buffer, palette.getInt(0));
+            return;
+        }
+
+        BitArray bitArray = this.bitArray;
+        BitArrayVersion version = BitArrayVersion.forEntries(palette.size());
+        if (version.getId() < bitArray.getVersion().getId()) {
+            bitArray = resize(bitArray, version);
+        }
+
         buffer.writeByte(getPaletteHeader(bitArray.getVersion(), true));
 
         for (int word : bitArray.getWords()) {
@@ -69,13 +150,49 @@ public class BlockStorage {
         palette.forEach((IntConsumer) id -> VarInts.writeInt(buffer, id));
     }
 
+    /**
+     * Writes a storage that only contains air
+     */
+    public static void writeEmptyToNetwork(ByteBuf buffer) {
+        buffer.writeByte(getPaletteHeader(0, true));
+        VarInts.writeInt(buffer, 0);
+    }
+
+    /**
+     * Estimates the amount of bytes {@link #writeToNetwork(ByteBuf)} writes, which is exact unless runtime ids need long var ints
+     */
+    public int getSerializedSizeEstimate() {
+        if (palette.size() == 1) {
+            return 1 + 5;
+        }
+        BitArrayVersion version = BitArrayVersion.forEntries(palette.size());
+        if (version.getId() > bitArray.getVersion().getId()) {
+            version = bitArray.getVersion();
+        }
+        return 1 + version.getWordsForSize(SIZE) * 4 + 5 + palette.size() * 3;
+    }
+
     private void onResize(BitArrayVersion version) {
+        this.bitArray = resize(this.bitArray, version);
+    }
+
+    private static BitArray resize(BitArray bitArray, BitArrayVersion version) {
+        int[] values = new int[SIZE];
+        int[] index = new int[1];
+        bitArray.forEach(value -> values[index[0]++] = value);
+
         BitArray newBitArray = version.createPalette(SIZE);
+        newBitArray.setAll(values);
+        return newBitArray;
+    }
 
-        for (int i = 0; i < SIZE; i++) {
-            newBitArray.set(i, this.bitArray.get(i));
+    private int paletteIndexOf(int runtimeId) {
+        int index = this.palette.indexOf(runtimeId);
+        if (index == -1) {
+            index = this.palette.size();
+            this.palette.add(runtimeId);
         }
-        this.bitArray = newBitArray;
+        return index;
     }
 
     private int idFor(int runtimeId) {
@@ -97,6 +214,10 @@ public class BlockStorage {
     }
 
     public boolean isEmpty() {
+        // Every block using the first palette entry is only empty if that entry is air
+        if (this.palette.getInt(0) != 0) {
+            return false;
+        }
         if (this.palette.size() == 1) {
             return true;
         }
@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2019-2020 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.connector.world.chunk;
+
+import com.nukkitx.network.VarInts;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import org.geysermc.connector.network.translators.BiomeTranslator;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Encodes chunk columns into the payload of a LevelChunkPacket. Every thread
+ * reuses its own pooled direct buffer, so the only allocation per column is
+ * the final payload array the packet needs.
+ */
+public class ChunkEncoder {
+
+    /**
+     * Biomes, border blocks and the extra data length
+     */
+    private static final int TRAILER_SIZE = 256 + 1 + 1;
+
+    private static final int INITIAL_BUFFER_SIZE = 16 * 1024;
+
+    /**
+     * Scratch buffers that grew beyond this after an unusually large column are released instead of kept
+     */
+    private static final int MAX_RETAINED_BUFFER_SIZE = 256 * 1024;
+
+    private static final ThreadLocal<ByteBuf> SCRATCH_BUFFER = new ThreadLocal<>();
+
+    private static final AtomicLong encodedColumns = new AtomicLong();
+    private static final AtomicLong encodedBytes = new AtomicLong();
+    private static final AtomicLong scratchAllocations = new AtomicLong();
+
+    /**
+     * Encodes a chunk column
+     *
+     * @param sections the sections of the column
+     * @param sectionCount the amount of sections to write, starting from the bottom
+     * @param biomeData the Java biome data of the column
+     * @return the encoded payload
+     */
+    public static byte[] encode(ChunkSection[] sections, int sectionCount, int[] biomeData) {
+        int estimatedSize = TRAILER_SIZE;
+        for (int i = 0; i < sectionCount; i++) {
+            estimatedSize += sections[i].getSerializedSizeEstimate();
+        }
+
+        ByteBuf buffer = getScratchBuffer(estimatedSize);
+        try {
+            for (int i = 0; i < sectionCount; i++) {
+                sections[i].writeToNetwork(buffer);
+            }
+
+            BiomeTranslator.writeBedrockBiome(biomeData, buffer); // Biomes - 256 bytes
+            buffer.writeByte(0); // Border blocks - Edu edition only
+            VarInts.writeUnsignedInt(buffer, 0); // extra data length, 0 for now
+
+            byte[] payload = new byte[buffer.readableBytes()];
+            buffer.readBytes(payload);
+
+            encodedColumns.incrementAndGet();
+            encodedBytes.addAndGet(payload.length);
+            return payload;
+        } finally {
+            releaseScratchBuffer(buffer);
+        }
+    }
+
+    private static ByteBuf getScratchBuffer(int estimatedSize) {
+        ByteBuf buffer = SCRATCH_BUFFER.get();
+        if (buffer == null) {
+            buffer = PooledByteBufAllocator.DEFAULT.directBuffer(Math.max(INITIAL_BUFFER_SIZE, estimatedSize));
+            SCRATCH_BUFFER.set(buffer);
+            scratchAllocations.incrementAndGet();
+        }
+        buffer.clear();
+        buffer.ensureWritable(estimatedSize);
+        return buffer;
+    }
+
+    private static void releaseScratchBuffer(ByteBuf buffer) {
+        buffer.clear();
+        if (buffer.capacity() > MAX_RETAINED_BUFFER_SIZE) {
+            SCRATCH_BUFFER.remove();
+            buffer.release();
+        }
+    }
+
+    /**
+     * @return the amount of chunk columns encoded so far
+     */
+    public static long getEncodedColumns() {
+        return encodedColumns.get();
+    }
+
+    /**
+     * @return the amount of payload bytes allocated for encoded chunk columns so far
+     */
+    public static long getEncodedBytes() {
+        return encodedBytes.get();
+    }
+
+    /**
+     * @return the amount of scratch buffers allocated so far, which stays at the amount of encoding threads normally
+     */
+    public static long getScratchAllocations() {
+        return scratchAllocations.get();
+    }
+}
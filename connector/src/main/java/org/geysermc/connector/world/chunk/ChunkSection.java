@@ -12,32 +12,40 @@ package org.geysermc.connector.world.chunk;
 
 import com.nukkitx.network.util.Preconditions;
 import io.netty.buffer.ByteBuf;
-import lombok.Synchronized;
 
+/**
+ * Chunk sections are filled by a single thread and then {@link #freeze() frozen}
+ * before they are handed to other threads, so none of their accessors lock.
+ */
 public class ChunkSection {
 
     private static final int CHUNK_SECTION_VERSION = 8;
     public static final int SIZE = 4096;
 
+    /**
+     * The storage layers of this section, which are only created once something is placed in them.
+     * The second layer only holds the water of waterlogged blocks.
+     */
     private final BlockStorage[] storage;
-    private final NibbleArray blockLight;
-    private final NibbleArray skyLight;
+
+    /**
+     * Light is never sent to the client, so these are only created when accessed
+     */
+    private NibbleArray blockLight;
+    private NibbleArray skyLight;
 
     public ChunkSection() {
-        this(new BlockStorage[]{new BlockStorage(), new BlockStorage()}, new NibbleArray(SIZE),
-                new NibbleArray(SIZE));
+        this(new BlockStorage[2], (NibbleArray) null, null);
     }
 
     public ChunkSection(BlockStorage[] blockStorage) {
-        this(blockStorage, new NibbleArray(SIZE), new NibbleArray(SIZE));
+        this(blockStorage, (NibbleArray) null, null);
     }
 
     public ChunkSection(BlockStorage[] storage, byte[] blockLight, byte[] skyLight) {
         Preconditions.checkNotNull(storage, "storage");
         Preconditions.checkArgument(storage.length > 1, "Block storage length must be at least 2");
-        for (BlockStorage blockStorage : storage) {
-            Preconditions.checkNotNull(blockStorage, "storage");
-        }
+        Preconditions.checkNotNull(storage[0], "storage");
 
         this.storage = storage;
         this.blockLight = new NibbleArray(blockLight);
@@ -53,62 +61,137 @@ public class ChunkSection {
     public int getFullBlock(int x, int y, int z, int layer) {
         checkBounds(x, y, z);
         Preconditions.checkElementIndex(layer, this.storage.length);
-        return this.storage[layer].getFullBlock(blockPosition(x, y, z));
+        BlockStorage blockStorage = this.storage[layer];
+        return blockStorage == null ? 0 : blockStorage.getFullBlock(blockPosition(x, y, z));
     }
 
     public void setFullBlock(int x, int y, int z, int layer, int fullBlock) {
         checkBounds(x, y, z);
         Preconditions.checkElementIndex(layer, this.storage.length);
-        this.storage[layer].setFullBlock(blockPosition(x, y, z), fullBlock);
+        getBlockStorage(layer).setFullBlock(blockPosition(x, y, z), fullBlock);
     }
 
-    @Synchronized("skyLight")
     public byte getSkyLight(int x, int y, int z) {
         checkBounds(x, y, z);
-        return this.skyLight.get(blockPosition(x, y, z));
+        return this.skyLight == null ? 0 : this.skyLight.get(blockPosition(x, y, z));
     }
 
-    @Synchronized("skyLight")
     public void setSkyLight(int x, int y, int z, byte val) {
         checkBounds(x, y, z);
-        this.skyLight.set(blockPosition(x, y, z), val);
+        getSkyLightArray().set(blockPosition(x, y, z), val);
     }
 
-    @Synchronized("blockLight")
     public byte getBlockLight(int x, int y, int z) {
         checkBounds(x, y, z);
-        return this.blockLight.get(blockPosition(x, y, z));
+        return this.blockLight == null ? 0 : this.blockLight.get(blockPosition(x, y, z));
     }
 
-    @Synchronized("blockLight")
     public void setBlockLight(int x, int y, int z, byte val) {
         checkBounds(x, y, z);
-        this.blockLight.set(blockPosition(x, y, z), val);
+        getBlockLightArray().set(blockPosition(x, y, z), val);
     }
 
+    /**
+     * Writes this section, leaving out the water layer if it doesn't contain anything
+     *
+     * @param buffer the buffer to write to
+     */
     public void writeToNetwork(ByteBuf buffer) {
+        int layers = this.storage.length;
+        while (layers > 1 && (this.storage[layers - 1] == null || this.storage[layers - 1].isEmpty())) {
+            layers--;
+        }
+
         buffer.writeByte(CHUNK_SECTION_VERSION);
-        buffer.writeByte(this.storage.length);
+        buffer.writeByte(layers);
+        for (int i = 0; i < layers; i++) {
+            if (this.storage[i] == null) {
+                BlockStorage.writeEmptyToNetwork(buffer);
+            } else {
+                this.storage[i].writeToNetwork(buffer);
+            }
+        }
+    }
+
+    /**
+     * Makes the block storage of this section read only
+     */
+    public void freeze() {
         for (BlockStorage blockStorage : this.storage) {
-            blockStorage.writeToNetwork(buffer);
+            if (blockStorage != null) {
+                blockStorage.freeze();
+            }
         }
     }
 
+    /**
+     * Estimates the amount of bytes {@link #writeToNetwork(ByteBuf)} writes
+     */
+    public int getSerializedSizeEstimate() {
+        int size = 2;
+        for (BlockStorage blockStorage : this.storage) {
+            if (blockStorage != null) {
+                size += blockStorage.getSerializedSizeEstimate();
+            }
+        }
+        return size;
+    }
+
     public NibbleArray getSkyLightArray() {
+        if (skyLight == null) {
+            skyLight = new NibbleArray(SIZE);
+        }
         return skyLight;
     }
 
     public NibbleArray getBlockLightArray() {
+        if (blockLight == null) {
+            blockLight = new NibbleArray(SIZE);
+        }
         return blockLight;
     }
 
+    /**
+     * Gets a storage layer of this section, creating it if it doesn't exist yet
+     *
+     * @param layer the layer, 0 for blocks and 1 for the water of waterlogged blocks
+     * @return the storage of the layer
+     */
+    public BlockStorage getBlockStorage(int layer) {
+        BlockStorage blockStorage = this.storage[layer];
+        if (blockStorage == null) {
+            blockStorage = new BlockStorage();
+            this.storage[layer] = blockStorage;
+        }
+        return blockStorage;
+    }
+
+    /**
+     * Replaces every block of a storage layer at once
+     *
+     * @param layer the layer, 0 for blocks and 1 for the water of waterlogged blocks
+     * @param runtimeIds the runtime ids indexed by block position, this array is overwritten with palette indexes
+     * @see BlockStorage#setAll(int[])
+     */
+    public void setAll(int layer, int[] runtimeIds) {
+        BlockStorage blockStorage = this.storage[layer];
+        if (blockStorage == null) {
+            this.storage[layer] = new BlockStorage(runtimeIds);
+        } else {
+            blockStorage.setAll(runtimeIds);
+        }
+    }
+
+    /**
+     * Gets the storage layers of this section. Layers that were never written to are null.
+     */
     public BlockStorage[] getBlockStorageArray() {
         return storage;
     }
 
     public boolean isEmpty() {
         for (BlockStorage blockStorage : this.storage) {
-            if (!blockStorage.isEmpty()) {
+            if (blockStorage != null && !blockStorage.isEmpty()) {
                 return false;
             }
         }
@@ -118,9 +201,9 @@ public class ChunkSection {
     public ChunkSection copy() {
         BlockStorage[] storage = new BlockStorage[this.storage.length];
         for (int i = 0; i < storage.length; i++) {
-            storage[i] = this.storage[i].copy();
+            storage[i] = this.storage[i] == null ? null : this.storage[i].copy();
         }
-        return new ChunkSection(storage, skyLight.copy(), blockLight.copy());
+        return new ChunkSection(storage, blockLight == null ? null : blockLight.copy(), skyLight == null ? null : skyLight.copy());
     }
 
     public static int blockPosition(int x, int y, int z) {
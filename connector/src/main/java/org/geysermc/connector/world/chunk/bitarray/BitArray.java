@@ -10,12 +10,28 @@
 
 package org.geysermc.connector.world.chunk.bitarray;
 
+import java.util.function.IntConsumer;
+
 public interface BitArray {
 
     void set(int index, int value);
 
     int get(int index);
 
+    /**
+     * Replaces every entry without checking bounds per entry
+     *
+     * @param values the new entries, at least {@link #size()} long
+     */
+    void setAll(int[] values);
+
+    /**
+     * Passes every entry to the consumer in index order
+     *
+     * @param consumer the consumer receiving the entries
+     */
+    void forEach(IntConsumer consumer);
+
     int size();
 
     int[] getWords();
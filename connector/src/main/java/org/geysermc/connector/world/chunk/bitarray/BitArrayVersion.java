@@ -43,6 +43,20 @@ public enum BitArrayVersion {
         throw new IllegalArgumentException("Invalid palette version: " + version);
     }
 
+    /**
+     * Gets the smallest version that is able to hold the given amount of palette entries
+     *
+     * @param entries the amount of palette entries
+     * @return the smallest version fitting the entries
+     */
+    public static BitArrayVersion forEntries(int entries) {
+        BitArrayVersion version = V1;
+        while (version.maxEntryValue < entries - 1 && version.next != null) {
+            version = version.next;
+        }
+        return version;
+    }
+
     public BitArray createPalette(int size) {
         return this.createPalette(size, new int[MathUtils.ceil((float) size / entriesPerWord)]);
     }
@@ -14,6 +14,7 @@ import com.nukkitx.network.util.Preconditions;
 import org.geysermc.connector.utils.MathUtils;
 
 import java.util.Arrays;
+import java.util.function.IntConsumer;
 
 public class PaddedBitArray implements BitArray {
 
@@ -62,6 +63,38 @@ public class PaddedBitArray implements BitArray {
         return (this.words[arrayIndex] >>> offset) & this.version.maxEntryValue;
     }
 
+    @Override
+    public void setAll(int[] values) {
+        Preconditions.checkArgument(values.length >= this.size, "Expected at least %s values", this.size);
+        int bits = this.version.bits;
+        int entriesPerWord = this.version.entriesPerWord;
+        int maxEntryValue = this.version.maxEntryValue;
+
+        int index = 0;
+        for (int arrayIndex = 0; arrayIndex < this.words.length; arrayIndex++) {
+            int word = 0;
+            for (int offset = 0; offset < entriesPerWord * bits && index < this.size; offset += bits) {
+                word |= (values[index++] & maxEntryValue) << offset;
+            }
+            this.words[arrayIndex] = word;
+        }
+    }
+
+    @Override
+    public void forEach(IntConsumer consumer) {
+        int bits = this.version.bits;
+        int entriesPerWord = this.version.entriesPerWord;
+        int maxEntryValue = this.version.maxEntryValue;
+
+        int index = 0;
+        for (int arrayIndex = 0; arrayIndex < this.words.length; arrayIndex++) {
+            int word = this.words[arrayIndex];
+            for (int offset = 0; offset < entriesPerWord * bits && index < this.size; offset += bits, index++) {
+                consumer.accept(word >>> offset & maxEntryValue);
+            }
+        }
+    }
+
     @Override
     public int size() {
         return this.size;
@@ -14,6 +14,7 @@ import com.nukkitx.network.util.Preconditions;
 import org.geysermc.connector.utils.MathUtils;
 
 import java.util.Arrays;
+import java.util.function.IntConsumer;
 
 public class Pow2BitArray implements BitArray {
 
@@ -66,6 +67,30 @@ public class Pow2BitArray implements BitArray {
         return this.words[arrayIndex] >>> wordOffset & this.version.maxEntryValue;
     }
 
+    @Override
+    public void setAll(int[] values) {
+        Preconditions.checkArgument(values.length >= this.size, "Expected at least %s values", this.size);
+        int bits = this.version.bits;
+        int maxEntryValue = this.version.maxEntryValue;
+
+        Arrays.fill(this.words, 0);
+        for (int i = 0; i < this.size; i++) {
+            int bitIndex = i * bits;
+            this.words[bitIndex >> 5] |= (values[i] & maxEntryValue) << (bitIndex & 31);
+        }
+    }
+
+    @Override
+    public void forEach(IntConsumer consumer) {
+        int bits = this.version.bits;
+        int maxEntryValue = this.version.maxEntryValue;
+
+        for (int i = 0; i < this.size; i++) {
+            int bitIndex = i * bits;
+            consumer.accept(this.words[bitIndex >> 5] >>> (bitIndex & 31) & maxEntryValue);
+        }
+    }
+
     /**
      * Gets the long array that is used to store the data in this BitArray. This is useful for sending packet data.
      */
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2019-2020 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.connector.world.map;
+
+import com.github.steveice10.mc.protocol.data.game.world.map.MapData;
+import lombok.Getter;
+import org.geysermc.connector.utils.MapColor;
+
+/**
+ * The last known contents of a single map of a session. Only the Java color ids are kept,
+ * they are converted to ARGB colors when the whole map is requested by the client.
+ */
+public class MapCanvas {
+
+    public static final int SIZE = 128;
+
+    /**
+     * The Java color id of every pixel, or null if no colors have been received yet
+     */
+    private byte[] canvas;
+
+    @Getter
+    private volatile byte scale;
+    @Getter
+    private volatile boolean locked;
+
+    public void updateProperties(byte scale, boolean locked) {
+        this.scale = scale;
+        this.locked = locked;
+    }
+
+    /**
+     * Applies a region update to the canvas and returns the converted colors of the region
+     *
+     * @param data the updated region
+     * @return the ARGB colors of the region
+     */
+    public synchronized int[] update(MapData data) {
+        if (canvas == null) {
+            canvas = new byte[SIZE * SIZE];
+        }
+
+        int columns = Math.min(data.getColumns(), SIZE - data.getX());
+        for (int row = 0; columns > 0 && row < data.getRows() && data.getY() + row < SIZE; row++) {
+            System.arraycopy(data.getData(), row * data.getColumns(), canvas, (data.getY() + row) * SIZE + data.getX(), columns);
+        }
+
+        int[] colors = new int[data.getColumns() * data.getRows()];
+        MapColor.toARGB(data.getData(), colors, 0);
+        return colors;
+    }
+
+    /**
+     * Converts the whole canvas to ARGB colors
+     *
+     * @return the ARGB colors of the whole map, or null if no colors have been received yet
+     */
+    public synchronized int[] getColors() {
+        if (canvas == null) {
+            return null;
+        }
+
+        int[] colors = new int[SIZE * SIZE];
+        MapColor.toARGB(canvas, colors, 0);
+        return colors;
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2019-2020 GeyserMC. http://geysermc.org
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ *
+ * @author GeyserMC
+ * @link https://github.com/GeyserMC/Geyser
+ */
+
+package org.geysermc.connector.world.map;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Holds the canvas of every map a session has seen, keyed by map id. Each session has its own store,
+ * as map ids are only unique per server and maps can be specific to a player.
+ * The least recently used maps are dropped once there are more than {@link #MAX_CANVASES}.
+ */
+public class MapCanvasStore {
+
+    private static final int MAX_CANVASES = 64;
+
+    private final Map<Integer, MapCanvas> canvases = new LinkedHashMap<Integer, MapCanvas>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, MapCanvas> eldest) {
+            return size() > MAX_CANVASES;
+        }
+    };
+
+    public synchronized MapCanvas getOrCreateCanvas(int mapId) {
+        return canvases.computeIfAbsent(mapId, id -> new MapCanvas());
+    }
+
+    public synchronized MapCanvas getCanvas(int mapId) {
+        return canvases.get(mapId);
+    }
+
+    /**
+     * Forgets every map, for example when the player was moved to another server behind a proxy
+     */
+    public synchronized void clear() {
+        canvases.clear();
+    }
+}